@@ -0,0 +1,16 @@
+package com.example.jpa.projection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Querydsl 프로젝션 팩토리 생성 대상 생성자
+ *   - 컴파일 시점에 {DTO}Projection 클래스를 생성
+ *   - 생성된 클래스는 리플렉션 없이 생성자를 직접 호출 (Projections.constructor 대체)
+ */
+@Target(ElementType.CONSTRUCTOR)
+@Retention(RetentionPolicy.SOURCE)
+public @interface DirectProjection {
+}
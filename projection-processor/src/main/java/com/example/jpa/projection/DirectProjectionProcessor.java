@@ -0,0 +1,139 @@
+package com.example.jpa.projection;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link DirectProjection} 생성자마다 Querydsl FactoryExpression 구현체를 생성
+ *
+ * <pre>
+ * public final class MemberDtoProjection extends FactoryExpressionBase&lt;MemberDto&gt; {
+ *     public MemberDtoProjection(Expression&lt;Long&gt; id, Expression&lt;String&gt; username, ...)
+ *     public MemberDto newInstance(Object... args) {
+ *         return new MemberDto((Long) args[0], (String) args[1], ...);
+ *     }
+ * }
+ * </pre>
+ */
+@SupportedAnnotationTypes("com.example.jpa.projection.DirectProjection")
+public class DirectProjectionProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> generated = new HashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(DirectProjection.class)) {
+            ExecutableElement constructor = (ExecutableElement) element;
+            TypeElement type = (TypeElement) constructor.getEnclosingElement();
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                error(constructor, "@DirectProjection 생성자는 public 이어야 합니다.");
+                continue;
+            }
+            if (!generated.add(type)) {
+                error(constructor, "@DirectProjection 생성자는 클래스당 하나만 지정할 수 있습니다.");
+                continue;
+            }
+            write(type, constructor);
+        }
+        return true;
+    }
+
+    private void write(TypeElement type, ExecutableElement constructor) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String dtoName = type.getSimpleName().toString();
+        String className = dtoName + "Projection";
+        List<? extends VariableElement> params = constructor.getParameters();
+
+        StringBuilder ctorParams = new StringBuilder();
+        StringBuilder ctorArgs = new StringBuilder();
+        StringBuilder newArgs = new StringBuilder();
+        for (int i = 0; i < params.size(); i++) {
+            VariableElement param = params.get(i);
+            String boxed = boxedName(param.asType());
+            String name = param.getSimpleName().toString();
+            if (i > 0) {
+                ctorParams.append(", ");
+                ctorArgs.append(", ");
+                newArgs.append(", ");
+            }
+            ctorParams.append("Expression<? extends ").append(boxed).append("> ").append(name);
+            ctorArgs.append(name);
+            newArgs.append("(").append(boxed).append(") args[").append(i).append("]");
+        }
+
+        String source = (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n")
+                + "import com.querydsl.core.types.Expression;\n"
+                + "import com.querydsl.core.types.FactoryExpressionBase;\n"
+                + "import com.querydsl.core.types.Visitor;\n"
+                + "\n"
+                + "import java.util.List;\n"
+                + "\n"
+                + "@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n"
+                + "public final class " + className + " extends FactoryExpressionBase<" + dtoName + "> {\n"
+                + "\n"
+                + "    private final List<Expression<?>> args;\n"
+                + "\n"
+                + "    public " + className + "(" + ctorParams + ") {\n"
+                + "        super(" + dtoName + ".class);\n"
+                + "        this.args = List.of(" + ctorArgs + ");\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public List<Expression<?>> getArgs() {\n"
+                + "        return args;\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public " + dtoName + " newInstance(Object... args) {\n"
+                + "        return new " + dtoName + "(" + newArgs + ");\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public <R, C> R accept(Visitor<R, C> v, C context) {\n"
+                + "        return v.visit(this, context);\n"
+                + "    }\n"
+                + "\n"
+                + "}\n";
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
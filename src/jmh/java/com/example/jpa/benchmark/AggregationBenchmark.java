@@ -0,0 +1,93 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.querydsl.report.AgeStatistics;
+import com.example.jpa.querydsl.report.Member2StatisticsService;
+import com.example.jpa.querydsl.report.TeamAgeStatistics;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.jpa.querydsl.entity.QMember2.member2;
+import static com.example.jpa.querydsl.entity.QTeam2.team2;
+
+/**
+ * 단일 집계 쿼리 vs Member2StatisticsService(member_id 구간별 병렬 집계)
+ *   - parallelism 1 은 구간 분할 오버헤드만 측정하는 기준값
+ *   - ./gradlew jmh -Pjmh.includes=Aggregation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AggregationBenchmark {
+
+    @Param({"2000000"})
+    public int members;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private TransactionTemplate tx;
+    private Member2StatisticsService statisticsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.report.parallelism=" + parallelism);
+        BenchmarkContext.seedQuerydsl(context, members);
+        queryFactory = new JPAQueryFactory(context.getBean(EntityManager.class));
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+        statisticsService = context.getBean(Member2StatisticsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Tuple singleQuery() {
+        return tx.execute(s -> queryFactory
+                .select(member2.count(), member2.age.sum(), member2.age.avg(), member2.age.max(), member2.age.min())
+                .from(member2)
+                .fetchOne());
+    }
+
+    @Benchmark
+    public AgeStatistics partitioned() {
+        return statisticsService.ageStatistics();
+    }
+
+    @Benchmark
+    public List<Tuple> singleQueryByTeam() {
+        return tx.execute(s -> queryFactory
+                .select(team2.name, member2.age.avg())
+                .from(member2)
+                .join(member2.team, team2)
+                .groupBy(team2.name)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<TeamAgeStatistics> partitionedByTeam() {
+        return statisticsService.ageStatisticsByTeam();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.async.AsyncMemberRepository;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 요청 1000 개 처리량
+ *   - async: AsyncMemberRepository (executor = auto 면 Java 21+ 에서 virtual 스레드, 아니면 풀 크기만큼의 플랫폼 스레드)
+ *   - blocking: 요청당 플랫폼 스레드 하나 (톰캣 기본 최대 200) 가 직접 조회 -> 커넥션 풀에서 대기
+ *   - ./gradlew jmh -Pjmh.includes=AsyncRepository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AsyncRepositoryBenchmark {
+
+    static final int REQUESTS = 1_000;
+    static final int REQUEST_THREADS = 200;
+
+    @Param({"10000"})
+    public int members;
+
+    @Param({"auto", "platform"})
+    public String executor;
+
+    private ConfigurableApplicationContext context;
+    private AsyncMemberRepository asyncMemberRepository;
+    private MemberJpaRepository memberJpaRepository;
+    private TransactionTemplate tx;
+    private ExecutorService requestThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.async.executor=" + executor);
+        BenchmarkContext.seed(context, members);
+        asyncMemberRepository = context.getBean(AsyncMemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<Optional<Member>> async() {
+        List<CompletableFuture<Optional<Member>>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(asyncMemberRepository.findById(randomId()));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<Optional<Member>> blocking() {
+        List<CompletableFuture<Optional<Member>>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            long id = randomId();
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> tx.execute(s -> memberJpaRepository.findById(id)), requestThreads));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, members + 1);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.SpringDataJpaWithQuerydslApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ *   - 인메모리 H2 (쿼리 결과 재사용 끔), SQL 로그/p6spy 비활성화
+ *   - 2차 캐시 끔 -> 반복 호출이 캐시 적중만 재지 않고 매번 DB 조회 비용을 측정
+ *   - JDBC batch insert 로 회원/팀 데이터 적재 (팀당 회원 100명)
+ */
+public final class BenchmarkContext {
+
+    public static final int MEMBERS_PER_TEAM = 100;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> props = new ArrayList<>(List.of(
+                // OPTIMIZE_REUSE_RESULTS: 데이터가 안 바뀌면 같은 쿼리 결과를 재사용하는 H2 최적화 -> 측정 왜곡
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.jpa.open-in-view=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "logging.level.root=warn",
+                "logging.level.org.hibernate.sql=warn",
+                "decorator.datasource.enabled=false"));
+        props.addAll(List.of(properties));
+        // application.yml 보다 우선하도록 커맨드라인 인자로 전달
+        return new SpringApplicationBuilder(SpringDataJpaWithQuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(props.stream().map(p -> "--" + p).toArray(String[]::new));
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int members) {
+        seed(context, members, "team", "member");
+    }
+
+    /**
+     * Querydsl 예제용 Member2 / Team2 테이블에 적재
+     */
+    public static void seedQuerydsl(ConfigurableApplicationContext context, int members) {
+        seed(context, members, "team2", "member2");
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int members, String teamTable, String memberTable) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        int teams = Math.max(1, members / MEMBERS_PER_TEAM);
+
+        List<Object[]> teamRows = new ArrayList<>(teams);
+        for (long i = 1; i <= teams; i++) {
+            teamRows.add(new Object[]{i, "team" + i});
+        }
+        jdbc.batchUpdate("insert into " + teamTable + " (team_id, name) values (?, ?)", teamRows);
+
+        String insertMember = "insert into " + memberTable + " (member_id, username, age, team_id) values (?, ?, ?, ?)";
+        List<Object[]> memberRows = new ArrayList<>(10_000);
+        for (long i = 1; i <= members; i++) {
+            memberRows.add(new Object[]{i, "member" + i, (int) (i % 100), (i % teams) + 1});
+            if (memberRows.size() == 10_000) {
+                insertMembers(jdbc, insertMember, memberRows);
+            }
+        }
+        insertMembers(jdbc, insertMember, memberRows);
+    }
+
+    private static void insertMembers(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.entity.Member;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 10만 건이 영속 상태인 트랜잭션의 flush 시간 (바이트코드 향상 dirty tracking 효과)
+ *   - 향상 전: 엔티티마다 스냅샷과 모든 필드를 비교
+ *   - 향상 후: 엔티티가 기록한 변경 필드만 확인 ($$_hibernate_hasDirtyAttributes)
+ *   - modified: flush 전에 나이를 바꾼 회원 수 (update 실행 비용 포함)
+ *   - 향상을 끈 빌드와 비교하려면 build.gradle 의 enableDirtyTracking = false 로 다시 실행
+ *   - ./gradlew jmh -Pjmh.includes=DirtyTracking
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DirtyTrackingBenchmark {
+
+    @Param({"100000"})
+    public int members;
+
+    @Param({"0", "1000"})
+    public int modified;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private PlatformTransactionManager transactionManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, members);
+        em = context.getBean(EntityManager.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void flush(LoadedContext loaded) {
+        em.flush();
+    }
+
+    /**
+     * flush 직전 상태: 회원 + 팀을 모두 조회하고 일부 회원을 수정한 영속성 컨텍스트
+     */
+    @State(Scope.Thread)
+    public static class LoadedContext {
+
+        private PlatformTransactionManager transactionManager;
+        private TransactionStatus status;
+
+        @Setup(Level.Invocation)
+        public void load(DirtyTrackingBenchmark benchmark) {
+            transactionManager = benchmark.transactionManager;
+            status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            List<Member> result = benchmark.em
+                    .createQuery("select m from Member m left join fetch m.team", Member.class)
+                    .getResultList();
+            for (int i = 0; i < benchmark.modified; i++) {
+                Member member = result.get(i);
+                member.setAge(member.getAge() + 1);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void rollback() {
+            transactionManager.rollback(status);
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.dto.MemberDto;
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.jpa.entity.QMember.member;
+import static com.example.jpa.entity.QTeam.team;
+
+/**
+ * 페치 전략 / 프로젝션 별 처리량과 할당률
+ *   - 회원 1K / 100K / 1M, default_batch_fetch_size 1 / 100
+ *   - ./gradlew jmh -Pjmh.includes=FetchStrategy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FetchStrategyBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int members;
+
+    @Param({"1", "100"})
+    public int batchFetchSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.default_batch_fetch_size=" + batchFetchSize);
+        BenchmarkContext.seed(context, members);
+        memberRepository = context.getBean(MemberRepository.class);
+        em = context.getBean(EntityManager.class);
+        queryFactory = new JPAQueryFactory(em);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 지연 로딩 - 회원마다 team 프록시 초기화 (batch size 에 따라 N+1)
+     */
+    @Benchmark
+    public void lazyLoading(Blackhole bh) {
+        tx.executeWithoutResult(s -> touchTeams(memberRepository.findMemberCustrom(), bh));
+    }
+
+    @Benchmark
+    public void join(Blackhole bh) {
+        tx.executeWithoutResult(s -> touchTeams(memberRepository.join(), bh));
+    }
+
+    @Benchmark
+    public void fetchJoin(Blackhole bh) {
+        tx.executeWithoutResult(s -> touchTeams(memberRepository.fetchJoin(), bh));
+    }
+
+    @Benchmark
+    public void findMemberFetchJoin(Blackhole bh) {
+        tx.executeWithoutResult(s -> touchTeams(memberRepository.findMemberFetchJoin(), bh));
+    }
+
+    @Benchmark
+    public void findMemberEntityGraph(Blackhole bh) {
+        tx.executeWithoutResult(s -> touchTeams(memberRepository.findMemberEntityGraph(), bh));
+    }
+
+    @Benchmark
+    public void dtoProjection(Blackhole bh) {
+        tx.executeWithoutResult(s -> {
+            for (MemberDto dto : memberRepository.findMemberDto()) {
+                bh.consume(dto.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void querydslTuple(Blackhole bh) {
+        tx.executeWithoutResult(s -> {
+            List<Tuple> tuples = queryFactory
+                    .select(member.id, member.username, team.name)
+                    .from(member)
+                    .join(member.team, team)
+                    .fetch();
+            for (Tuple tuple : tuples) {
+                bh.consume(tuple.get(team.name));
+            }
+        });
+    }
+
+    private static void touchTeams(List<Member> result, Blackhole bh) {
+        for (Member m : result) {
+            bh.consume(m.getTeam().getName());
+        }
+    }
+
+}
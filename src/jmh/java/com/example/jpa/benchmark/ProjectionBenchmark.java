@@ -0,0 +1,94 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.dto.MemberDto;
+import com.example.jpa.dto.MemberDtoProjection;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.jpa.entity.QMember.member;
+import static com.example.jpa.entity.QTeam.team;
+
+/**
+ * Projections.constructor(리플렉션) vs 컴파일 시점 생성 MemberDtoProjection(직접 생성자 호출)
+ *   - newInstance 단건 비용과 실제 쿼리 결과 매핑 비용을 각각 측정
+ *   - ./gradlew jmh -Pjmh.includes=Projection
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark {
+
+    @Param({"100000"})
+    public int members;
+
+    private final FactoryExpression<MemberDto> reflective =
+            Projections.constructor(MemberDto.class, member.id, member.username, team.name);
+    private final FactoryExpression<MemberDto> direct =
+            new MemberDtoProjection(member.id, member.username, team.name);
+    private final Object[] row = {1L, "member1", "teamA"};
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, members);
+        queryFactory = new JPAQueryFactory(context.getBean(EntityManager.class));
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MemberDto constructorNewInstance() {
+        return reflective.newInstance(row);
+    }
+
+    @Benchmark
+    public MemberDto directNewInstance() {
+        return direct.newInstance(row);
+    }
+
+    @Benchmark
+    public List<MemberDto> constructorQuery() {
+        return tx.execute(s -> fetch(reflective));
+    }
+
+    @Benchmark
+    public List<MemberDto> directQuery() {
+        return tx.execute(s -> fetch(direct));
+    }
+
+    private List<MemberDto> fetch(FactoryExpression<MemberDto> projection) {
+        return queryFactory
+                .select(projection)
+                .from(member)
+                .join(member.team, team)
+                .fetch();
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.querydsl.cache.CachingJPAQueryFactory;
+import com.example.jpa.querydsl.cache.QueryTemplateCache;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.jpa.entity.QMember.member;
+
+/**
+ * 동적 검색(username + age) 한 번의 비용 - JPQL 직렬화 매번 vs 쿼리 템플릿 캐시
+ *   - prepare: 표현식 -> JPQL -> Hibernate Query 생성, 파라미터 바인딩까지 (실행 안 함) = 쿼리 생성 CPU 비용
+ *   - search / dynamicSearch: 실행까지 (username 인덱스로 1건 조회)
+ *   - Hibernate 쿼리 plan 캐시는 양쪽 모두 사용 (Querydsl 은 값을 파라미터로 직렬화하므로 JPQL 이 같음)
+ *   - ./gradlew jmh -Pjmh.includes=QueryTemplate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryTemplateBenchmark {
+
+    @Param({"10000"})
+    public int members;
+
+    @Param({"plain", "cached"})
+    public String factory;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, members);
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        queryFactory = "cached".equals(factory)
+                ? new CachingJPAQueryFactory(em, new QueryTemplateCache(1000))
+                : new JPAQueryFactory(em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Query prepare() {
+        return searchQuery(ThreadLocalRandom.current().nextLong(1, members + 1)).createQuery();
+    }
+
+    /**
+     * 기준선: 같은 JPQL 로 Hibernate Query 생성 + 바인딩만 (Querydsl 비용 0)
+     */
+    @Benchmark
+    public Query prepareJpql() {
+        long id = ThreadLocalRandom.current().nextLong(1, members + 1);
+        return em.createQuery("select member1 from Member member1 where member1.username = ?1 and member1.age = ?2")
+                .setParameter(1, "member" + id)
+                .setParameter(2, (int) (id % 100));
+    }
+
+    @Benchmark
+    public List<Member> search() {
+        List<Member> result = searchQuery(ThreadLocalRandom.current().nextLong(1, members + 1)).fetch();
+        em.clear();
+        return result;
+    }
+
+    /**
+     * 조건 조합이 바뀌는 검색 (shape 4 가지)
+     */
+    @Benchmark
+    public List<Member> dynamicSearch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(1, members + 1);
+        List<Member> result = queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("member" + id),
+                        random.nextBoolean() ? member.age.eq((int) (id % 100)) : null,
+                        random.nextBoolean() ? member.id.goe(id) : null)
+                .fetch();
+        em.clear();
+        return result;
+    }
+
+    private JPAQuery<Member> searchQuery(long id) {
+        return queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("member" + id).and(member.age.eq((int) (id % 100))));
+    }
+
+}
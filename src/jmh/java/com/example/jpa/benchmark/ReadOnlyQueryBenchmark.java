@@ -0,0 +1,121 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ReadOnlyQuery 유무에 따른 조회 / flush 비용 (읽기-쓰기 트랜잭션에서 회원 + 팀 fetch join)
+ *   - load: 조회 시간, gc.alloc.rate.norm 에 스냅샷 할당량이 포함됨
+ *   - flush: 조회해 둔 영속성 컨텍스트의 flush 시간 (dirty checking), retainedKiB 는 조회 후 GC 해도 남는 힙
+ *   - ./gradlew jmh -Pjmh.includes=ReadOnlyQuery
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadOnlyQueryBenchmark {
+
+    @Param({"100000"})
+    public int members;
+
+    @Param({"false", "true"})
+    public boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private EntityManager em;
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, members);
+        memberRepository = context.getBean(MemberRepository.class);
+        em = context.getBean(EntityManager.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int load() {
+        return tx.execute(s -> find().size());
+    }
+
+    @Benchmark
+    public void flush(LoadedContext loaded) {
+        em.flush();
+    }
+
+    private List<Member> find() {
+        if (readOnly) {
+            return memberRepository.findMemberFetchJoin();
+        }
+        // 같은 JPQL, 힌트 없음
+        return em.createQuery("select m from Member m left join fetch m.team", Member.class).getResultList();
+    }
+
+    /**
+     * flush 직전 상태: 트랜잭션 안에서 회원을 모두 조회해 둔 영속성 컨텍스트
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LoadedContext {
+
+        private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+        private TransactionStatus status;
+        private PlatformTransactionManager transactionManager;
+        private List<Member> result;
+
+        public long retainedKiB;
+
+        @Setup(Level.Invocation)
+        public void load(ReadOnlyQueryBenchmark benchmark) {
+            transactionManager = benchmark.transactionManager;
+            long before = usedHeapAfterGc();
+            status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            result = benchmark.find();
+            retainedKiB = (usedHeapAfterGc() - before) / 1024;
+        }
+
+        @TearDown(Level.Invocation)
+        public void rollback() {
+            transactionManager.rollback(status);
+            result = null;
+        }
+
+        private static long usedHeapAfterGc() {
+            System.gc();
+            return MEMORY.getHeapMemoryUsage().getUsed();
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.example.jpa.benchmark;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메서드 지표 수집(RepositoryMetricsInterceptor) 오버헤드
+ *   - 영속성 컨텍스트에 이미 있는 회원 조회 -> SQL 없이 프록시 / 인터셉터 비용만 남음
+ *   - monitoring=false 와의 차이가 호출당 기록 비용
+ *   - ./gradlew jmh -Pjmh.includes=RepositoryMetrics
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RepositoryMetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean monitoring;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberJpaRepository memberJpaRepository;
+    private PlatformTransactionManager transactionManager;
+    private TransactionStatus transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.monitoring.repository.enabled=" + monitoring);
+        BenchmarkContext.seed(context, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void begin() {
+        transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        memberJpaRepository.find(1L);
+    }
+
+    @TearDown(Level.Iteration)
+    public void end() {
+        transactionManager.rollback(transaction);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member repositoryClass() {
+        return memberJpaRepository.find(1L);
+    }
+
+    @Benchmark
+    public Optional<Member> springData() {
+        return memberRepository.findById(1L);
+    }
+
+}
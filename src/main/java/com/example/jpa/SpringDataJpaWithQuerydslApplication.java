@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @EnableJpaAuditing // auditing 기능 활성화
+@EnableScheduling // 팀 통계 보정(TeamStatisticsService.reconcile)
 @SpringBootApplication
 public class SpringDataJpaWithQuerydslApplication {
 
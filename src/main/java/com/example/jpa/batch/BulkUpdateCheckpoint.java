@@ -0,0 +1,87 @@
+package com.example.jpa.batch;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분할 벌크 업데이트 진행 상태
+ *   - member_id 범위 [minId, maxId] 를 chunkSize 단위로 나눔 (첫 실행 때 한 번만 계산)
+ *   - 커밋된 chunk 의 시작 id 를 기록 -> 실패 후 같은 checkpoint 로 다시 실행하면 남은 chunk 만 실행
+ *   - Serializable: 재시작을 넘어서 이어가려면 호출하는 쪽에서 저장
+ */
+public class BulkUpdateCheckpoint implements Serializable {
+
+    private final int chunkSize;
+    private volatile Long minId;
+    private volatile Long maxId;
+    private final Set<Long> completed = ConcurrentHashMap.newKeySet();
+    private final AtomicLong updatedRows = new AtomicLong();
+
+    public BulkUpdateCheckpoint(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    synchronized void plan(Long minId, Long maxId) {
+        if (!isPlanned()) {
+            this.minId = minId;
+            this.maxId = maxId;
+        }
+    }
+
+    boolean isPlanned() {
+        return maxId != null;
+    }
+
+    void complete(long chunkStart, int rows) {
+        completed.add(chunkStart);
+        updatedRows.addAndGet(rows);
+    }
+
+    /**
+     * 아직 커밋되지 않은 chunk 의 시작 id
+     */
+    List<Long> pendingChunks() {
+        List<Long> pending = new ArrayList<>();
+        if (minId == null) {
+            return pending;
+        }
+        for (long start = minId; start <= maxId; start += chunkSize) {
+            if (!completed.contains(start)) {
+                pending.add(start);
+            }
+        }
+        return pending;
+    }
+
+    long chunkEnd(long chunkStart) {
+        return Math.min(chunkStart + chunkSize - 1, maxId);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getTotalChunks() {
+        return minId == null ? 0 : (maxId - minId) / chunkSize + 1;
+    }
+
+    public long getCompletedChunks() {
+        return completed.size();
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.get();
+    }
+
+    public boolean isDone() {
+        return isPlanned() && getCompletedChunks() == getTotalChunks();
+    }
+
+}
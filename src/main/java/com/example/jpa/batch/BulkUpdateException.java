@@ -0,0 +1,20 @@
+package com.example.jpa.batch;
+
+import lombok.Getter;
+
+/**
+ * 분할 벌크 업데이트 중 chunk 실패
+ *   - 실패한 chunk 는 롤백, 이미 커밋된 chunk 는 checkpoint 에 기록되어 있음
+ *   - 원인을 해결한 뒤 같은 checkpoint 로 다시 실행하면 이어서 진행
+ */
+@Getter
+public class BulkUpdateException extends RuntimeException {
+
+    private final BulkUpdateCheckpoint checkpoint;
+
+    public BulkUpdateException(String message, Throwable cause, BulkUpdateCheckpoint checkpoint) {
+        super(message, cause);
+        this.checkpoint = checkpoint;
+    }
+
+}
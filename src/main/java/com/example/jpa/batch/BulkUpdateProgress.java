@@ -0,0 +1,12 @@
+package com.example.jpa.batch;
+
+/**
+ * 분할 벌크 업데이트 진행률 (chunk 하나가 커밋될 때마다 전달)
+ */
+public record BulkUpdateProgress(long completedChunks, long totalChunks, long updatedRows) {
+
+    public double ratio() {
+        return totalChunks == 0 ? 1 : (double) completedChunks / totalChunks;
+    }
+
+}
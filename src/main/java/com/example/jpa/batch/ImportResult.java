@@ -0,0 +1,30 @@
+package com.example.jpa.batch;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * 대량 적재 결과
+ */
+@Getter
+@ToString
+public class ImportResult {
+
+    private final long rows;
+    private final long batches;
+    private final Duration elapsed;
+
+    public ImportResult(long rows, long batches, Duration elapsed) {
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsed = elapsed;
+    }
+
+    public double getRowsPerSecond() {
+        long nanos = Math.max(elapsed.toNanos(), 1);
+        return rows * 1_000_000_000d / nanos;
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.example.jpa.batch;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.support.MemberCountCache;
+import com.example.jpa.statistics.TeamStatisticsService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 분할 벌크 업데이트 (MemberCustomRepository.bulkAgePlus 의 대용량 버전)
+ *   - member_id 범위를 chunk 로 나누고 chunk 마다 별도 트랜잭션(REQUIRES_NEW)으로 커밋 -> 락을 짧게 잡음
+ *   - chunk 들은 parallelism 개 스레드에서 동시에 실행
+ *   - chunk 트랜잭션 안에서 팀 통계(TeamStatisticsService.onAgePlus)도 같이 보정
+ *   - chunk 가 실패하면 아직 시작 안 한 chunk 는 건너뛰고 BulkUpdateException (checkpoint 포함)
+ *   - 끝나면 현재 영속성 컨텍스트(OSIV 등)의 영향받은 Member 를 detach, count 캐시 무효화
+ *
+ * 호출한 트랜잭션이 같은 행을 잡고 있으면 chunk 트랜잭션이 기다리게 되므로 트랜잭션 밖에서만 실행
+ */
+@Slf4j
+@Component
+public class MemberAgeBulkUpdater {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate chunkTransaction;
+    private final MemberCountCache countCache;
+    private final TeamStatisticsService teamStatisticsService;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public MemberAgeBulkUpdater(EntityManagerFactory emf,
+                                PlatformTransactionManager transactionManager,
+                                MemberCountCache countCache,
+                                TeamStatisticsService teamStatisticsService,
+                                @Value("${app.bulk-update.chunk-size:10000}") int chunkSize,
+                                @Value("${app.bulk-update.parallelism:4}") int parallelism) {
+        this.emf = emf;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.countCache = countCache;
+        this.teamStatisticsService = teamStatisticsService;
+        this.chunkSize = chunkSize;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "bulk-update-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * age 이상인 회원의 나이 + 1
+     */
+    public BulkUpdateCheckpoint plusAge(int age) {
+        return plusAge(age, new BulkUpdateCheckpoint(chunkSize), progress -> {
+        });
+    }
+
+    /**
+     * @param checkpoint 새로 만든 checkpoint, 또는 실패한 실행의 checkpoint (이어서 실행)
+     */
+    public BulkUpdateCheckpoint plusAge(int age, BulkUpdateCheckpoint checkpoint, Consumer<BulkUpdateProgress> progress) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("partitioned bulk update must run outside of a transaction");
+        }
+        long start = System.nanoTime();
+        if (!checkpoint.isPlanned()) {
+            Object[] range = chunkTransaction.execute(status -> em.createQuery(
+                    "select min(m.id), max(m.id) from Member m", Object[].class).getSingleResult());
+            checkpoint.plan((Long) range[0], (Long) range[1]);
+        }
+
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Long chunkStart : checkpoint.pendingChunks()) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (failure.get() != null) {
+                    return; // 실패 이후 chunk 는 다음 실행으로 넘김
+                }
+                try {
+                    int rows = updateChunk(age, chunkStart, checkpoint.chunkEnd(chunkStart));
+                    checkpoint.complete(chunkStart, rows);
+                    progress.accept(new BulkUpdateProgress(
+                            checkpoint.getCompletedChunks(), checkpoint.getTotalChunks(), checkpoint.getUpdatedRows()));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // 실패해도 커밋된 chunk 가 있으므로 정리는 항상
+        countCache.invalidateAll();
+        detachAffectedMembers(age);
+
+        log.info("member age bulk update: chunks={}/{}, rows={}, elapsed={}ms",
+                checkpoint.getCompletedChunks(), checkpoint.getTotalChunks(), checkpoint.getUpdatedRows(),
+                (System.nanoTime() - start) / 1_000_000);
+        if (failure.get() != null) {
+            throw new BulkUpdateException("member age bulk update failed after "
+                    + checkpoint.getCompletedChunks() + "/" + checkpoint.getTotalChunks() + " chunks",
+                    failure.get(), checkpoint);
+        }
+        return checkpoint;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private int updateChunk(int age, long fromId, long toId) {
+        Integer rows = chunkTransaction.execute(status -> {
+            teamStatisticsService.onAgePlus(age, fromId, toId);
+            return em.createQuery(
+                            "update Member m set m.age = m.age + 1 where m.age >= :age and m.id between :fromId and :toId")
+                    .setParameter("age", age)
+                    .setParameter("fromId", fromId)
+                    .setParameter("toId", toId)
+                    .executeUpdate();
+        });
+        log.debug("member age bulk update chunk [{}, {}]: rows={}", fromId, toId, rows);
+        return rows;
+    }
+
+    /**
+     * 트랜잭션 없이 열려있는 영속성 컨텍스트(OSIV)가 있으면 나이가 바뀌었을 Member 를 detach
+     */
+    private void detachAffectedMembers(int age) {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(emf);
+        if (holder == null) {
+            return;
+        }
+        EntityManager current = holder.getEntityManager();
+        List<Member> affected = new ArrayList<>();
+        for (Map.Entry<Object, ?> entry : current.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (entry.getKey() instanceof Member member && member.getAge() >= age) {
+                affected.add(member);
+            }
+        }
+        affected.forEach(current::detach);
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.example.jpa.batch;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.repository.support.InClauseExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 회원 대량 적재
+ *   - CSV(username,age,teamName) / NDJSON({"username":..,"age":..,"teamName":..}) 파일을 한 줄씩 읽음
+ *   - batchSize 건마다 트랜잭션 커밋 + flush/clear (이 세션만 JDBC batch size 를 batchSize 로 -> insert 를 묶어서 전송)
+ *   - 배치마다 커밋해야 메모리가 파일 크기에 비례하지 않으므로 트랜잭션 밖에서만 실행 (안이면 IllegalStateException)
+ *   - 팀 이름 -> Team 조회는 배치당 한 번, 없는 팀은 생성
+ *   - 잘못된 줄이 있으면 줄 번호와 함께 IllegalArgumentException (이전 배치는 이미 커밋됨)
+ */
+@Slf4j
+@Component
+public class MemberBulkImporter {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final InClauseExecutor inClauseExecutor;
+    private final int batchSize;
+
+    public MemberBulkImporter(PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              InClauseExecutor inClauseExecutor,
+                              @Value("${app.import.batch-size:1000}") int batchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.inClauseExecutor = inClauseExecutor;
+        this.batchSize = batchSize;
+    }
+
+    public ImportResult importCsv(Path path) {
+        return importFile(path, this::parseCsv);
+    }
+
+    public ImportResult importNdjson(Path path) {
+        return importFile(path, this::parseJson);
+    }
+
+    private ImportResult importFile(Path path, Function<String, Row> parser) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("member import must run outside of a transaction (commits every batch)");
+        }
+        long start = System.nanoTime();
+        long rows = 0;
+        long batches = 0;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Row row;
+                try {
+                    row = parser.apply(line);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException(path.getFileName() + ":" + lineNumber + " 잘못된 줄: " + line, e);
+                }
+                if (row == null) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    rows += insert(batch);
+                    batches++;
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                rows += insert(batch);
+                batches++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ImportResult result = new ImportResult(rows, batches, Duration.ofNanos(System.nanoTime() - start));
+        log.info("member import {}: rows={}, batches={}, elapsed={}ms, rows/sec={}",
+                path.getFileName(), result.getRows(), result.getBatches(),
+                result.getElapsed().toMillis(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private int insert(List<Row> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            Map<String, Team> teams = resolveTeams(batch);
+            for (Row row : batch) {
+                Member member = new Member(row.username(), row.age());
+                member.setTeam(row.teamName() == null ? null : teams.get(row.teamName()));
+                em.persist(member);
+            }
+            em.flush();
+            em.clear();
+        });
+        return batch.size();
+    }
+
+    /**
+     * 배치에 등장하는 팀 이름을 한 번에 조회하고, 없는 팀은 생성
+     */
+    private Map<String, Team> resolveTeams(List<Row> batch) {
+        Set<String> names = new HashSet<>();
+        for (Row row : batch) {
+            if (row.teamName() != null) {
+                names.add(row.teamName());
+            }
+        }
+        Map<String, Team> teams = new HashMap<>();
+        if (names.isEmpty()) {
+            return teams;
+        }
+        inClauseExecutor.findIn("select t from Team t where t.name in :values", Team.class, names)
+                .forEach(t -> teams.putIfAbsent(t.getName(), t));
+        for (String name : names) {
+            teams.computeIfAbsent(name, n -> {
+                Team team = new Team(n);
+                em.persist(team);
+                return team;
+            });
+        }
+        return teams;
+    }
+
+    /**
+     * username,age,teamName - 헤더 줄은 건너뜀
+     */
+    private Row parseCsv(String line) {
+        String[] cols = line.split(",", -1);
+        if (cols.length < 2 || "username".equals(cols[0].trim())) {
+            return null;
+        }
+        String teamName = cols.length > 2 && !cols[2].isBlank() ? cols[2].trim() : null;
+        return new Row(cols[0].trim(), Integer.parseInt(cols[1].trim()), teamName);
+    }
+
+    private Row parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode teamName = node.get("teamName");
+            return new Row(node.path("username").asText(null),
+                    node.path("age").asInt(),
+                    teamName == null || teamName.isNull() ? null : teamName.asText());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Row(String username, int age, String teamName) {
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.example.jpa.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 노드 간 2차 캐시 정합성 유지
+ *   - 커밋된 update / delete 를 버스로 알림 -> 다른 노드는 해당 엔티티를 캐시에서 evict
+ *   - insert 는 다른 노드 캐시에 아직 없으므로 알리지 않음
+ *   - 벌크 연산은 이벤트를 타지 않음 (Hibernate 가 해당 리전 전체를 로컬에서만 비움)
+ */
+@Slf4j
+@Component
+public class CacheCoherenceListener implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationBus bus;
+
+    public CacheCoherenceListener(EntityManagerFactory emf, CacheInvalidationBus bus) {
+        this.sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        this.bus = bus;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        bus.subscribe(nodeId, this::evict);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        bus.unsubscribe(nodeId);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            bus.publish(new CacheInvalidation(nodeId, persister.getEntityName(), id));
+        }
+    }
+
+    private void evict(CacheInvalidation invalidation) {
+        if (sessionFactory.getMappingMetamodel().findEntityDescriptor(invalidation.entityName()) == null) {
+            return; // 이 노드에는 없는 엔티티
+        }
+        log.debug("evict {}#{} (from {})", invalidation.entityName(), invalidation.id(), invalidation.originNodeId());
+        sessionFactory.getCache().evictEntityData(invalidation.entityName(), invalidation.id());
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.example.jpa.cache;
+
+/**
+ * 2차 캐시 무효화 메시지
+ *   - originNodeId: 변경을 커밋한 노드 (자기 자신이 보낸 메시지는 무시)
+ */
+public record CacheInvalidation(String originNodeId, String entityName, Object id) {
+}
@@ -0,0 +1,17 @@
+package com.example.jpa.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 2차 캐시 무효화 메시지 전달 통로
+ *   - 운영에서는 Redis pub/sub, Kafka 등 브로커 기반 구현으로 교체
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(String nodeId, Consumer<CacheInvalidation> subscriber);
+
+    void unsubscribe(String nodeId);
+
+}
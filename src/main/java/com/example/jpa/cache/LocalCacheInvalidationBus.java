@@ -0,0 +1,38 @@
+package com.example.jpa.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안의 노드(ApplicationContext)끼리 무효화 메시지를 주고받는 버스
+ *   - 구독자 목록을 static 으로 공유 -> 한 JVM 에 띄운 여러 컨텍스트가 서로의 메시지를 받음
+ *   - 브로커 없이 동작하는 로컬/테스트용 구현
+ */
+@Component
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Map<String, Consumer<CacheInvalidation>> SUBSCRIBERS = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        SUBSCRIBERS.forEach((nodeId, subscriber) -> {
+            if (!nodeId.equals(invalidation.originNodeId())) {
+                subscriber.accept(invalidation);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<CacheInvalidation> subscriber) {
+        SUBSCRIBERS.put(nodeId, subscriber);
+    }
+
+    @Override
+    public void unsubscribe(String nodeId) {
+        SUBSCRIBERS.remove(nodeId);
+    }
+
+}
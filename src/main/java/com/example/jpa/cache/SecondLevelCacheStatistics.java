@@ -0,0 +1,45 @@
+package com.example.jpa.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 2차 캐시 리전별 hit / miss / put 통계
+ *   - hibernate.generate_statistics: true 일 때만 집계됨
+ */
+@Component
+public class SecondLevelCacheStatistics {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<RegionStats> regions() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::region)
+                .toList();
+    }
+
+    public RegionStats region(String regionName) {
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+        return new RegionStats(regionName, region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts) {
+
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+}
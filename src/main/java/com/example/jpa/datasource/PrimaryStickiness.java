@@ -0,0 +1,119 @@
+package com.example.jpa.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쓰기 후 읽기 일관성 (read-your-writes)
+ *   - 쓰기 트랜잭션이 커밋되면 같은 클라이언트의 읽기는 window 동안 primary 로 -> replica 복제 지연 동안 옛 데이터를 보지 않음
+ *   - 클라이언트: clientHeader 요청 헤더 값, 없으면 HTTP 세션 id (쿠키)
+ *   - 둘 다 없으면 같은 요청 안의 읽기만 primary 로 (요청 속성에 기록)
+ *   - 요청 밖(배치, 스케줄러 등)은 클라이언트를 구분할 수 없으므로 사용 안 함
+ *   - window 가 0 이면 사용 안 함
+ */
+public class PrimaryStickiness {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+    private static final String WRITTEN_AT = PrimaryStickiness.class.getName() + ".writtenAt";
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final String clientHeader;
+
+    public PrimaryStickiness(Duration window, String clientHeader) {
+        this.windowNanos = window.toNanos();
+        this.clientHeader = clientHeader;
+    }
+
+    public boolean isSticky() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (windowNanos <= 0 || attributes == null) {
+            return false;
+        }
+        if (withinWindow((Long) attributes.getAttribute(WRITTEN_AT, RequestAttributes.SCOPE_REQUEST))) {
+            return true;
+        }
+        String key = clientKey(attributes);
+        if (key == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (withinWindow(writtenAt)) {
+            return true;
+        }
+        lastWrites.remove(key, writtenAt);
+        return false;
+    }
+
+    /**
+     * 쓰기 트랜잭션이 primary 커넥션을 사용할 때 호출 -> 커밋되면 window 시작 (롤백이면 무시)
+     */
+    public void onWriteTransaction() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (windowNanos <= 0 || attributes == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, attributes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWritten(attributes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PrimaryStickiness.this);
+            }
+        });
+    }
+
+    public void clear() {
+        lastWrites.clear();
+    }
+
+    private void markWritten(RequestAttributes attributes) {
+        long now = System.nanoTime();
+        attributes.setAttribute(WRITTEN_AT, now, RequestAttributes.SCOPE_REQUEST);
+        String key = clientKey(attributes);
+        if (key == null) {
+            return;
+        }
+        if (lastWrites.size() >= PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+        lastWrites.put(key, now);
+    }
+
+    private boolean withinWindow(Long writtenAt) {
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    private String clientKey(RequestAttributes attributes) {
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return null;
+        }
+        HttpServletRequest request = servlet.getRequest();
+        if (StringUtils.hasText(clientHeader)) {
+            String client = request.getHeader(clientHeader);
+            if (StringUtils.hasText(client)) {
+                return "client:" + client;
+            }
+        }
+        HttpSession session = request.getSession(false);
+        return session == null ? null : "session:" + session.getId();
+    }
+
+}
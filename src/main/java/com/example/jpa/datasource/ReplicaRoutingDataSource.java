@@ -0,0 +1,103 @@
+package com.example.jpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 트랜잭션 종류에 따라 primary / replica 로 라우팅
+ *   - readOnly 트랜잭션 -> replica (ReplicaSelection), 그 외(쓰기, @Modifying, 트랜잭션 밖) -> primary
+ *   - 쓰기 커밋 직후 같은 클라이언트의 읽기는 primary (PrimaryStickiness)
+ *   - 커넥션을 얻는 시점에 readOnly 여부를 알아야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica-";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReplicaSelection selection;
+    private final PrimaryStickiness stickiness;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReplicaSelection selection, PrimaryStickiness stickiness) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.stickiness = stickiness;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA + i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                stickiness.onWriteTransaction();
+            }
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || stickiness.isSticky()) {
+            return PRIMARY;
+        }
+        return REPLICA + selectReplica();
+    }
+
+    private int selectReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (selection == ReplicaSelection.ROUND_ROBIN) {
+            return start;
+        }
+        // 사용 중인 커넥션이 같으면 round robin 순서로
+        int selected = start;
+        int leastActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            int active = activeConnections(replicas.get(index));
+            if (active < leastActive) {
+                leastActive = active;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean(); // 첫 커넥션 전에는 null
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    /**
+     * replica 풀 종료 (primary 는 별도 빈)
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable && replica != primary) {
+                closeable.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.example.jpa.datasource;
+
+/**
+ * 읽기 전용 트랜잭션이 사용할 replica 선택 방식
+ *   - ROUND_ROBIN: 순서대로 돌아가며
+ *   - LEAST_BUSY: 사용 중인 커넥션이 가장 적은 replica (HikariCP 풀 기준)
+ */
+public enum ReplicaSelection {
+    ROUND_ROBIN, LEAST_BUSY
+}
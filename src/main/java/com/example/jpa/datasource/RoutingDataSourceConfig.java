@@ -0,0 +1,72 @@
+package com.example.jpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * primary / replica 라우팅 DataSource (app.datasource.routing.enabled: true 일 때만)
+ *   - primary: spring.datasource.*, replica: app.datasource.routing.replicas[*]
+ *   - 스키마 생성(ddl-auto)처럼 트랜잭션 밖에서 쓰는 커넥션은 primary
+ *   - p6spy 는 routingDataSource 만 감쌈 (decorator.datasource.exclude-beans)
+ *     P6DataSource 는 커넥션을 받자마자 getMetaData() 를 호출하므로 LazyConnectionDataSourceProxy 바깥에 있으면 라우팅 전에 커넥션을 얻음
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public PrimaryStickiness primaryStickiness(RoutingDataSourceProperties properties) {
+        return new PrimaryStickiness(properties.getStickyWindow(), properties.getStickyClientHeader());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                      RoutingDataSourceProperties properties,
+                                                      PrimaryStickiness primaryStickiness) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName(ReplicaRoutingDataSource.REPLICA + replicas.size());
+            dataSource.setReadOnly(true);
+            if (replica.getMaximumPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getSelection(), primaryStickiness);
+    }
+
+    @Bean
+    @Primary
+    public DataSource lazyRoutingDataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.jpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.datasource.routing.* 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+    private Duration stickyWindow = Duration.ofSeconds(2);
+    private String stickyClientHeader = "X-Client-Id";
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+    }
+
+}
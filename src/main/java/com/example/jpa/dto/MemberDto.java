@@ -1,5 +1,6 @@
 package com.example.jpa.dto;
 
+import com.example.jpa.projection.DirectProjection;
 import lombok.Data;
 
 @Data
@@ -9,6 +10,7 @@ public class MemberDto {
     private String username;
     private String teamName;
 
+    @DirectProjection
     public MemberDto(Long id, String username, String teamName) {
         this.id = id;
         this.username = username;
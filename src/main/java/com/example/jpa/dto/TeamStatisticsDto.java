@@ -0,0 +1,25 @@
+package com.example.jpa.dto;
+
+import com.example.jpa.entity.TeamStatistics;
+import lombok.Data;
+
+@Data
+public class TeamStatisticsDto {
+
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private Double averageAge;
+    private Integer minAge;
+    private Integer maxAge;
+
+    public TeamStatisticsDto(TeamStatistics statistics, String teamName) {
+        this.teamId = statistics.getTeamId();
+        this.teamName = teamName;
+        this.memberCount = statistics.getMemberCount();
+        this.averageAge = statistics.getAverageAge();
+        this.minAge = statistics.getMinAge();
+        this.maxAge = statistics.getMaxAge();
+    }
+
+}
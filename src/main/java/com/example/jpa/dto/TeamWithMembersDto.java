@@ -0,0 +1,30 @@
+package com.example.jpa.dto;
+
+import com.example.jpa.entity.Team;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TeamWithMembersDto {
+
+    private Long id;
+    private String name;
+    private List<MemberDto> members;
+
+    public TeamWithMembersDto(Long id, String name, List<MemberDto> members) {
+        this.id = id;
+        this.name = name;
+        this.members = members;
+    }
+
+    /**
+     * members 가 fetch join 된 Team 에서 생성
+     */
+    public TeamWithMembersDto(Team team) {
+        this(team.getId(), team.getName(), team.getMembers().stream()
+                .map(m -> new MemberDto(m.getId(), m.getUsername(), team.getName()))
+                .toList());
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.example.jpa.entity;
 
+import com.example.jpa.entity.id.ConcurrentPooledOptimizer;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 
 @Entity
@@ -10,7 +13,8 @@ import lombok.Getter;
 public class Hello {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hello_seq_generator")
+    @SequenceGenerator(name = "hello_seq_generator", sequenceName = "hello_seq", allocationSize = ConcurrentPooledOptimizer.ALLOCATION_SIZE)
     private Long id;
 
     private String name;
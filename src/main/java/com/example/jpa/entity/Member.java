@@ -1,12 +1,21 @@
 package com.example.jpa.entity;
 
+import com.example.jpa.entity.id.ConcurrentPooledOptimizer;
+import com.example.jpa.repository.support.MemberCountCacheListener;
+import com.example.jpa.repository.support.MemberUsernameCacheListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 @Entity
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter @Setter
 @ToString(of = {"id", "username", "age"})
+@Table(indexes = {
+        @Index(name = "idx_member_age_username", columnList = "age, username desc, member_id desc"),
+        @Index(name = "idx_member_username", columnList = "username")
+})
+@EntityListeners({MemberCountCacheListener.class, MemberUsernameCacheListener.class})
 @NamedQuery(
         name = "Member.findByUsername",
         query = "select m from Member m where m.username = :username"
@@ -14,7 +23,8 @@ import lombok.*;
 public class Member {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = ConcurrentPooledOptimizer.ALLOCATION_SIZE)
     @Column(name = "member_id")
     private Long id;
 
@@ -39,10 +49,19 @@ public class Member {
 
     /**
      * 연관관계 편의 메서드
+     *   - 팀의 members 컬렉션을 로딩하지 않고 양방향 연관관계를 맞춤 (Team.addMember, Team.removeMember)
+     *   - 이전 팀이 초기화 안 된 프록시면 로딩하지 않음 (members 도 초기화됐을 수 없으므로 뺄 것이 없음)
+     *   - 같은 팀이면 아무것도 하지 않음
      */
     public void changeTeam(Team team) {
+        if (this.team == team) {
+            return;
+        }
+        if (this.team != null && Hibernate.isInitialized(this.team)) {
+            this.team.removeMember(this);
+        }
         this.team = team;
-        team.getMembers().add(this);
+        team.addMember(this);
     }
 
 }
@@ -1,19 +1,25 @@
 package com.example.jpa.entity;
 
+import com.example.jpa.entity.id.ConcurrentPooledOptimizer;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team") // 2차 캐시 (거의 변경되지 않는 팀 조회용)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter @Setter
 @ToString(of = {"id", "name"})
 public class Team {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = ConcurrentPooledOptimizer.ALLOCATION_SIZE)
     @Column(name = "team_id")
     private Long id;
 
@@ -26,4 +32,22 @@ public class Team {
         this.name = name;
     }
 
+    /**
+     * members 가 초기화되지 않았으면 컬렉션을 로딩하지 않음
+     *   - mappedBy 쪽 지연 컬렉션(bag)의 add 는 Hibernate 가 큐에 쌓아뒀다가 초기화될 때 반영
+     */
+    void addMember(Member member) {
+        members.add(member);
+    }
+
+    /**
+     * members 가 초기화된 경우에만 제거
+     *   - 초기화 전이면 나중에 DB 에서 읽어올 때 이미 반영되어 있음 (연관관계 주인은 Member.team)
+     */
+    void removeMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            members.remove(member);
+        }
+    }
+
 }
@@ -0,0 +1,61 @@
+package com.example.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Objects;
+
+/**
+ * 팀별 회원 나이 집계 (materialized)
+ *   - Member 변경 시 TeamStatisticsListener 가 커밋 직전에 증감분을 반영
+ *   - 최소/최대 나이에 해당하는 회원이 빠지면 stale -> 조회 시 다시 계산
+ *   - version: 증감 SQL 도 올리므로 보정 작업(reconcile)과 동시에 수정되면 낙관적 락 실패
+ */
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@ToString
+public class TeamStatistics {
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    private long memberCount;
+
+    private long ageSum;
+
+    private Integer minAge;
+
+    private Integer maxAge;
+
+    private boolean stale;
+
+    @Version
+    private long version;
+
+    public TeamStatistics(Long teamId, long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        reset(memberCount, ageSum, minAge, maxAge);
+    }
+
+    public Double getAverageAge() {
+        return memberCount == 0 ? null : (double) ageSum / memberCount;
+    }
+
+    /**
+     * @return 값이 바뀌었으면 true
+     */
+    public boolean reset(long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+        boolean changed = this.memberCount != memberCount || this.ageSum != ageSum
+                || !Objects.equals(this.minAge, minAge) || !Objects.equals(this.maxAge, maxAge)
+                || stale;
+        this.memberCount = memberCount;
+        this.ageSum = ageSum;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.stale = false;
+        return changed;
+    }
+
+}
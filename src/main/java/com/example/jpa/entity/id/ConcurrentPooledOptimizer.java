@@ -0,0 +1,96 @@
+package com.example.jpa.entity.id;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * pooled-lo 방식 ID 할당기
+ *   - 시퀀스 값 하나로 [값, 값 + incrementSize) 블록을 받아서 JVM 안에서 나눠줌
+ *   - 블록 안에서는 AtomicLong 증가만 하므로 lock 없음 (Hibernate 기본 PooledOptimizer 는 synchronized)
+ *   - 블록을 다 쓴 경우에만 한 스레드가 시퀀스를 호출
+ *
+ * 사용법
+ *   - hibernate.id.optimizer.pooled.preferred 에 이 클래스 이름을 지정
+ *   - 블록 크기는 @SequenceGenerator(allocationSize = ALLOCATION_SIZE) = DB 시퀀스의 increment
+ *   - 여러 엔티티가 같은 sequenceName 을 쓰면 타입 간 공유, 아니면 타입별 시퀀스
+ */
+public class ConcurrentPooledOptimizer implements Optimizer {
+
+    /**
+     * 엔티티 공통 블록 크기 (바꾸면 운영 DB 시퀀스의 increment 도 같이 변경)
+     */
+    public static final int ALLOCATION_SIZE = 100;
+
+    private final Class<?> returnClass;
+    private final int incrementSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    private volatile IntegralDataTypeHolder lastSourceValue;
+
+    public ConcurrentPooledOptimizer(Class<?> returnClass, int incrementSize) {
+        if (incrementSize < 1) {
+            throw new IllegalArgumentException("increment size must be positive: " + incrementSize);
+        }
+        this.returnClass = returnClass;
+        this.incrementSize = incrementSize;
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        while (true) {
+            Block block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return (Serializable) IdentifierGeneratorHelper.getIntegralDataTypeHolder(returnClass)
+                        .initialize(value)
+                        .makeValue();
+            }
+            refill(block, callback);
+        }
+    }
+
+    /**
+     * 블록을 다 쓴 스레드들 중 하나만 시퀀스를 호출하고 나머지는 새 블록을 기다림
+     */
+    private synchronized void refill(Block exhausted, AccessCallback callback) {
+        if (current.get() != exhausted) {
+            return;
+        }
+        IntegralDataTypeHolder source = callback.getNextValue();
+        long lo = IdentifierGeneratorHelper.extractLong(source);
+        lastSourceValue = source;
+        current.set(new Block(lo, lo + incrementSize));
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        return lastSourceValue;
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long lo, long limit) {
+            this.next = new AtomicLong(lo);
+            this.limit = limit;
+        }
+    }
+
+}
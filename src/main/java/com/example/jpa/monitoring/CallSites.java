@@ -0,0 +1,48 @@
+package com.example.jpa.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SQL 을 실행한 애플리케이션 코드 위치 (com.example.jpa 프레임)
+ *   - 모니터링 클래스, AOP advice(MethodInterceptor), Hibernate 프록시, CGLIB 프록시 프레임은 건너뜀
+ */
+final class CallSites {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final String APPLICATION_PACKAGE = "com.example.jpa.";
+    private static final Set<Class<?>> MONITORING_CLASSES = Set.of(CallSites.class, StatementScope.class, StatementMonitor.class,
+            StatementCountingListener.class, RepositoryMetricsInterceptor.class, SlowQueryRecorder.class,
+            TransactionProfiler.class, TransactionProfileListener.class);
+
+    private CallSites() {
+    }
+
+    static String first() {
+        List<String> frames = stack(1);
+        return frames.isEmpty() ? "unknown" : frames.get(0);
+    }
+
+    /**
+     * 가장 안쪽부터 최대 limit 개
+     */
+    static List<String> stack(int limit) {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(CallSites::isApplicationFrame)
+                .limit(limit)
+                .map(frame -> frame.toStackTraceElement().toString())
+                .toList());
+    }
+
+    private static boolean isApplicationFrame(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.startsWith(APPLICATION_PACKAGE)
+                && !MONITORING_CLASSES.contains(frame.getDeclaringClass().getNestHost())
+                && !MethodInterceptor.class.isAssignableFrom(frame.getDeclaringClass())
+                && !className.contains("$HibernateProxy")
+                && !className.contains("$$SpringCGLIB");
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.jpa.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로딩한 엔티티 수를 진행 중인 리포지토리 호출에 집계
+ *   - DB 조회든 2차 캐시든 영속성 컨텍스트에 새로 올라온 엔티티마다 한 번
+ */
+@Component
+public class EntityLoadCountingListener implements PostLoadEventListener {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final RepositoryMetrics metrics;
+
+    public EntityLoadCountingListener(EntityManagerFactory emf, RepositoryMetrics metrics) {
+        this.sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        metrics.onEntityLoaded();
+    }
+
+}
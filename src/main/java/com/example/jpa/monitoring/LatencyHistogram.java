@@ -0,0 +1,96 @@
+package com.example.jpa.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 나노초 응답 시간 히스토그램 (HdrHistogram 과 같은 log-linear 버킷)
+ *   - 2의 거듭제곱 구간마다 32 개 하위 버킷 -> 상대 오차 약 3%
+ *   - 기록은 락 없이 버킷 카운터 하나만 증가 (AtomicLongArray)
+ *   - 2^40 ns(약 18분) 이상은 마지막 버킷으로
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    Snapshot snapshot() {
+        long[] buckets = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = counts.get(i);
+            count += buckets[i];
+        }
+        long max = maxNanos.get();
+        return new Snapshot(count,
+                count == 0 ? 0 : totalNanos.sum() / count,
+                percentile(buckets, count, 0.50, max),
+                percentile(buckets, count, 0.90, max),
+                percentile(buckets, count, 0.99, max),
+                max);
+    }
+
+    void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS - 1;
+        }
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * 버킷에 들어가는 가장 큰 값
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int mantissa = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static long percentile(long[] buckets, long count, double quantile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * quantile));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    record Snapshot(long count, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+    }
+
+}
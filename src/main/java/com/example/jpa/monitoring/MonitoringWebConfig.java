@@ -0,0 +1,21 @@
+package com.example.jpa.monitoring;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MonitoringWebConfig implements WebMvcConfigurer {
+
+    private final StatementBudgetInterceptor statementBudgetInterceptor;
+
+    public MonitoringWebConfig(StatementBudgetInterceptor statementBudgetInterceptor) {
+        this.statementBudgetInterceptor = statementBudgetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(statementBudgetInterceptor);
+    }
+
+}
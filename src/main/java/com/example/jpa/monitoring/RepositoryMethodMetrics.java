@@ -0,0 +1,58 @@
+package com.example.jpa.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포지토리 메서드 하나의 누적 지표
+ *   - 응답 시간 히스토그램, 실패 수, 실행한 SQL 수, 읽은 행 수, 로딩한 엔티티 수
+ */
+final class RepositoryMethodMetrics {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder entities = new LongAdder();
+
+    RepositoryMethodMetrics(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, boolean failed, RepositoryMetrics.Call call) {
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        if (call.statements != 0) {
+            statements.add(call.statements);
+        }
+        if (call.rows != 0) {
+            rows.add(call.rows);
+        }
+        if (call.entities != 0) {
+            entities.add(call.entities);
+        }
+    }
+
+    RepositoryMetrics.MethodStats snapshot() {
+        LatencyHistogram.Snapshot snapshot = latency.snapshot();
+        return new RepositoryMetrics.MethodStats(name, snapshot.count(), errors.sum(),
+                micros(snapshot.meanNanos()), micros(snapshot.p50Nanos()), micros(snapshot.p90Nanos()),
+                micros(snapshot.p99Nanos()), micros(snapshot.maxNanos()),
+                statements.sum(), rows.sum(), entities.sum());
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+        statements.reset();
+        rows.reset();
+        entities.reset();
+    }
+
+    private static double micros(long nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+
+}
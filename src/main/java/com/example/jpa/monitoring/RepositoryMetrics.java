@@ -0,0 +1,134 @@
+package com.example.jpa.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리포지토리 메서드별 응답 시간 / SQL 수 / 행 수 / 엔티티 로딩 수
+ *   - 호출 구간은 RepositoryMetricsInterceptor, SQL / 행은 StatementCountingListener(p6spy), 엔티티는 EntityLoadCountingListener
+ *   - 진행 중인 호출은 스레드 로컬 -> 같은 스레드에서 실행된 SQL 이 그 호출로 집계됨
+ *   - 리포지토리 안에서 다른 리포지토리를 부르면 안쪽 집계가 바깥 호출에도 더해짐
+ *   - Stream 을 반환하는 메서드는 스트림 생성까지만 집계 (소비하면서 읽는 행은 빠짐)
+ *   - 조회: GET /monitoring/repositories, 요약 로그: app.monitoring.repository.log-interval
+ */
+@Slf4j
+@Component
+public class RepositoryMetrics {
+
+    private static final int LOG_TOP = 10;
+
+    private final ConcurrentHashMap<String, RepositoryMethodMetrics> methods = new ConcurrentHashMap<>();
+    private final ThreadLocal<Call> current = new ThreadLocal<>();
+
+    RepositoryMethodMetrics method(String name) {
+        return methods.computeIfAbsent(name, RepositoryMethodMetrics::new);
+    }
+
+    Call enter() {
+        Call call = new Call(current.get());
+        current.set(call);
+        return call;
+    }
+
+    void exit(Call call, RepositoryMethodMetrics method, long nanos, boolean failed) {
+        current.set(call.parent);
+        method.record(nanos, failed, call);
+        if (call.parent != null) {
+            call.parent.add(call);
+        }
+    }
+
+    void onStatement() {
+        Call call = current.get();
+        if (call != null) {
+            call.statements++;
+        }
+    }
+
+    void onRow() {
+        Call call = current.get();
+        if (call != null) {
+            call.rows++;
+        }
+    }
+
+    void onEntityLoaded() {
+        Call call = current.get();
+        if (call != null) {
+            call.entities++;
+        }
+    }
+
+    /**
+     * 총 소요 시간(평균 x 호출 수)이 큰 순서
+     */
+    public List<MethodStats> snapshot() {
+        return methods.values().stream()
+                .map(RepositoryMethodMetrics::snapshot)
+                .filter(stats -> stats.calls() > 0)
+                .sorted(Comparator.comparingDouble(MethodStats::totalMicros).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        methods.values().forEach(RepositoryMethodMetrics::reset);
+    }
+
+    @Scheduled(fixedDelayString = "${app.monitoring.repository.log-interval:PT1M}",
+            initialDelayString = "${app.monitoring.repository.log-interval:PT1M}")
+    public void logSummary() {
+        List<MethodStats> stats = snapshot();
+        if (stats.isEmpty() || !log.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("repository metrics (top ").append(LOG_TOP).append(" by total time)");
+        for (MethodStats method : stats.subList(0, Math.min(LOG_TOP, stats.size()))) {
+            summary.append(String.format("%n  %-60s calls=%d errors=%d p50=%.1fus p99=%.1fus max=%.1fus sql/call=%.1f rows/call=%.1f entities/call=%.1f",
+                    method.method(), method.calls(), method.errors(), method.p50Micros(), method.p99Micros(), method.maxMicros(),
+                    method.perCall(method.statements()), method.perCall(method.rows()), method.perCall(method.entities())));
+        }
+        log.info(summary.toString());
+    }
+
+    /**
+     * 진행 중인 리포지토리 호출 (스레드 하나에서만 접근)
+     */
+    static final class Call {
+
+        final Call parent;
+        long statements;
+        long rows;
+        long entities;
+
+        Call(Call parent) {
+            this.parent = parent;
+        }
+
+        void add(Call nested) {
+            statements += nested.statements;
+            rows += nested.rows;
+            entities += nested.entities;
+        }
+
+    }
+
+    public record MethodStats(String method, long calls, long errors,
+                              double meanMicros, double p50Micros, double p90Micros, double p99Micros, double maxMicros,
+                              long statements, long rows, long entities) {
+
+        public double totalMicros() {
+            return meanMicros * calls;
+        }
+
+        public double perCall(long total) {
+            return calls == 0 ? 0 : (double) total / calls;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.jpa.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * app.monitoring.web.enabled=true 일 때만 등록 (SQL / 지표 노출 -> 내부망 또는 인증 뒤에서만 켬)
+ */
+@RestController
+@ConditionalOnProperty(name = "app.monitoring.web.enabled", havingValue = "true")
+@RequestMapping("/monitoring/repositories")
+public class RepositoryMetricsController {
+
+    private final RepositoryMetrics metrics;
+
+    public RepositoryMetricsController(RepositoryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 리포지토리 메서드별 지표 (총 소요 시간이 큰 순서, 시간 단위 us)
+     */
+    @GetMapping
+    public List<RepositoryMetrics.MethodStats> metrics() {
+        return metrics.snapshot();
+    }
+
+    @DeleteMapping
+    public void reset() {
+        metrics.reset();
+    }
+
+}
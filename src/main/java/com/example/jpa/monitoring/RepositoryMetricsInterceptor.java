@@ -0,0 +1,74 @@
+package com.example.jpa.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리 메서드 호출 구간 측정
+ *   - 메서드 이름은 Method 별로 한 번만 만듦 (호출마다 할당 없음, Call 제외)
+ *   - repositoryName 이 없으면 대상 클래스 이름 (@Repository 클래스)
+ */
+final class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<RepositoryMetrics> metricsProvider;
+    private final String repositoryName;
+    private final ConcurrentHashMap<Method, RepositoryMethodMetrics> methods = new ConcurrentHashMap<>();
+    private RepositoryMetrics metrics;
+
+    RepositoryMetricsInterceptor(ObjectProvider<RepositoryMetrics> metricsProvider, String repositoryName) {
+        this.metricsProvider = metricsProvider;
+        this.repositoryName = repositoryName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        RepositoryMetrics metrics = metrics();
+        RepositoryMethodMetrics methodMetrics = methods.get(method);
+        if (methodMetrics == null) {
+            methodMetrics = methods.computeIfAbsent(method, m -> metrics.method(name(invocation.getThis(), m)));
+        }
+
+        RepositoryMetrics.Call call = metrics.enter();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            metrics.exit(call, methodMetrics, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * 싱글톤이고 final 필드만 있어서 동기화 없이 캐시해도 안전
+     */
+    private RepositoryMetrics metrics() {
+        RepositoryMetrics resolved = metrics;
+        if (resolved == null) {
+            resolved = metricsProvider.getObject();
+            metrics = resolved;
+        }
+        return resolved;
+    }
+
+    private String name(Object target, Method method) {
+        String repository = repositoryName != null ? repositoryName : ClassUtils.getUserClass(target).getSimpleName();
+        String parameters = Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", "));
+        return repository + "." + method.getName() + "(" + parameters + ")";
+    }
+
+}
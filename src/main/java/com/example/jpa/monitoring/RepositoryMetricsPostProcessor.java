@@ -0,0 +1,42 @@
+package com.example.jpa.monitoring;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 리포지토리에 RepositoryMetricsInterceptor 를 붙임
+ *   - Spring Data 리포지토리(MemberRepository 등): 리포지토리 프록시 자체에 추가 (프록시를 한 겹 더 씌우지 않음)
+ *   - @Repository 클래스(MemberJpaRepository, TeamJpaRepository): 기존 트랜잭션 프록시의 맨 앞에 추가
+ *   - 어느 쪽이든 트랜잭션보다 바깥에서 측정 -> 커밋 시 flush 되는 SQL 포함
+ *   - AspectJ @Around 는 호출마다 JoinPoint 할당 + 리플렉션 호출이라 쓰지 않음
+ */
+@Component
+@ConditionalOnProperty(name = "app.monitoring.repository.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private final ObjectProvider<RepositoryMetrics> metrics;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<RepositoryMetrics> metrics) {
+        this.metrics = metrics;
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true),
+                new RepositoryMetricsInterceptor(metrics, null));
+        this.beforeExistingAdvisors = true;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repository) -> proxyFactory.addAdvice(0,
+                            new RepositoryMetricsInterceptor(metrics, repository.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+}
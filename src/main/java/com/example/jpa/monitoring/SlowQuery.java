@@ -0,0 +1,44 @@
+package com.example.jpa.monitoring;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 느린 SQL 한 건
+ *   - plan 은 EXPLAIN 이 끝나면 채워짐 (그 전에는 null), 리터럴은 ? 로 가려짐
+ */
+@Getter
+public class SlowQuery {
+
+    private final long sequence;
+    private final Instant executedAt;
+    private final double elapsedMillis;
+    private final String sql; // ? 형태 SQL (바인딩 값 없음)
+    private final String error;
+    private final List<String> callStack; // 애플리케이션 프레임만, 안쪽부터
+    private volatile String plan;
+
+    SlowQuery(long sequence, Instant executedAt, long elapsedNanos, String sql, String error, List<String> callStack) {
+        this.sequence = sequence;
+        this.executedAt = executedAt;
+        this.elapsedMillis = elapsedNanos / 1_000_000.0;
+        this.sql = sql;
+        this.error = error;
+        this.callStack = callStack;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * 인덱스 없이 테이블 전체를 읽는 실행 계획 (H2: tableScan)
+     */
+    public boolean isTableScan() {
+        String current = plan;
+        return current != null && current.contains(".tableScan");
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.jpa.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * app.monitoring.web.enabled=true 일 때만 등록 (SQL / 지표 노출 -> 내부망 또는 인증 뒤에서만 켬)
+ */
+@RestController
+@ConditionalOnProperty(name = "app.monitoring.web.enabled", havingValue = "true")
+@RequestMapping("/monitoring/slow-queries")
+public class SlowQueryController {
+
+    private final SlowQueryRecorder recorder;
+
+    public SlowQueryController(SlowQueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * 최근 느린 SQL (최근 것부터, EXPLAIN 실행 계획 포함)
+     */
+    @GetMapping
+    public List<SlowQuery> slowQueries() {
+        return recorder.recent();
+    }
+
+    @DeleteMapping
+    public void clear() {
+        recorder.clear();
+    }
+
+}
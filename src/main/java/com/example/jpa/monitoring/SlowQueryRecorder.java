@@ -0,0 +1,179 @@
+package com.example.jpa.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * 느린 SQL 기록 (p6spy, StatementCountingListener 에서 호출)
+ *   - threshold 이상 걸린 SQL 의 ? 형태 SQL / 소요 시간 / 호출 위치를 최근 buffer-size 건만 보관 (락 없는 링 버퍼)
+ *   - 바인딩 값(개인정보 등)은 로그 / 조회 결과에 남기지 않음
+ *   - select / update / delete 는 EXPLAIN 실행 계획을 별도 스레드에서 수집 -> 요청 스레드는 기다리지 않음
+ *   - EXPLAIN 에만 값이 바인딩된 SQL 을 쓰고, 결과 / 오류 메시지의 리터럴은 ? 로 가림
+ *   - 같은 모양의 SQL 은 EXPLAIN 결과 재사용, EXPLAIN 대기열이 차면 건너뜀
+ *   - 조회: GET /monitoring/slow-queries (app.monitoring.web.enabled=true 일 때)
+ */
+@Slf4j
+@Component
+public class SlowQueryRecorder {
+
+    private static final int STACK_DEPTH = 10;
+    private static final int EXPLAIN_QUEUE_SIZE = 100;
+    private static final int MAX_CACHED_PLANS = 1_000;
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final boolean explain;
+    private final AtomicReferenceArray<SlowQuery> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<String, String> plans = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+    private volatile long thresholdNanos;
+
+    public SlowQueryRecorder(ObjectProvider<DataSource> dataSource,
+                             @Value("${app.monitoring.slow-query.threshold:100ms}") Duration threshold,
+                             @Value("${app.monitoring.slow-query.buffer-size:100}") int bufferSize,
+                             @Value("${app.monitoring.slow-query.explain:true}") boolean explain) {
+        this.dataSource = dataSource; // p6spy 리스너가 DataSource 생성에 쓰이므로 나중에 꺼냄
+        this.explain = explain;
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+        this.thresholdNanos = threshold.toNanos();
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE_SIZE), r -> {
+            Thread thread = new Thread(r, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * 실행 중에 기준을 바꿀 때 (0 이면 모든 SQL 기록)
+     */
+    public void setThreshold(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    void record(String sql, String boundSql, long elapsedNanos, SQLException error) {
+        if (sql == null || sql.regionMatches(true, 0, "explain", 0, 7)) {
+            return; // 이 클래스가 실행한 EXPLAIN
+        }
+        long seq = sequence.incrementAndGet();
+        List<String> callStack = CallSites.stack(STACK_DEPTH);
+        SlowQuery query = new SlowQuery(seq, Instant.now(), elapsedNanos, sql,
+                error == null ? null : mask(error.getMessage()), callStack);
+        buffer.set(index(seq), query);
+        log.warn("slow query {}ms: {} (at {})", String.format("%.1f", query.getElapsedMillis()), sql,
+                callStack.isEmpty() ? "unknown" : callStack.get(0));
+        if (explain && boundSql != null && explainable(sql)) {
+            explain(query, boundSql, StatementMonitor.normalize(sql));
+        }
+    }
+
+    /**
+     * 최근 것부터
+     */
+    public List<SlowQuery> recent() {
+        long last = sequence.get();
+        List<SlowQuery> queries = new ArrayList<>(buffer.length());
+        for (long seq = last; seq > 0 && seq > last - buffer.length(); seq--) {
+            SlowQuery query = buffer.get(index(seq));
+            if (query != null && query.getSequence() == seq) {
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+        plans.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explain(SlowQuery query, String boundSql, String shape) {
+        String cached = plans.get(shape);
+        if (cached != null) {
+            query.setPlan(cached);
+            return;
+        }
+        explainExecutor.execute(() -> {
+            try {
+                String plan = mask(runExplain(boundSql));
+                query.setPlan(plan);
+                if (plans.size() < MAX_CACHED_PLANS) {
+                    plans.put(shape, plan);
+                }
+            } catch (SQLException | RuntimeException e) {
+                query.setPlan("EXPLAIN failed: " + mask(e.getMessage()));
+            }
+        });
+    }
+
+    private String runExplain(String boundSql) throws SQLException {
+        try (Connection connection = dataSource.getObject().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + boundSql)) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                if (!plan.isEmpty()) {
+                    plan.append('\n');
+                }
+                plan.append(rs.getString(1));
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * 실행 계획 / 오류 메시지에 찍힌 리터럴을 ? 로 (줄 단위)
+     */
+    static String mask(String text) {
+        if (text == null) {
+            return null;
+        }
+        return text.lines().map(StatementMonitor::normalize).collect(Collectors.joining("\n"));
+    }
+
+    private int index(long seq) {
+        return (int) ((seq - 1) % buffer.length());
+    }
+
+    private static boolean explainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("update") || head.startsWith("delete");
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.jpa.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔드포인트(컨트롤러 메서드 / 클래스)별 요청당 SQL 예산
+ *   - 없으면 app.monitoring.n-plus-one.budget
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+
+    int value();
+
+}
@@ -0,0 +1,18 @@
+package com.example.jpa.monitoring;
+
+import lombok.Getter;
+
+/**
+ * SQL 예산 초과 또는 N+1 의심 (app.monitoring.n-plus-one.fail-on-violation: true 일 때)
+ */
+@Getter
+public class StatementBudgetExceededException extends RuntimeException {
+
+    private final StatementReport report;
+
+    public StatementBudgetExceededException(StatementReport report) {
+        super(report.describe());
+        this.report = report;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.example.jpa.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * HTTP 요청 하나를 StatementScope 로 집계
+ *   - 예산: 핸들러 메서드 / 컨트롤러의 @StatementBudget, 없으면 기본 예산
+ *   - open-in-view 로 뷰 렌더링 / 직렬화 중 지연 로딩된 SQL 까지 포함
+ *   - 응답이 끝난 뒤 판정하므로 위반은 로그로만 남김
+ */
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE = StatementBudgetInterceptor.class.getName() + ".scope";
+
+    private final StatementMonitor monitor;
+
+    public StatementBudgetInterceptor(StatementMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            String name = request.getMethod() + " " + request.getRequestURI();
+            request.setAttribute(SCOPE, monitor.open(name, budget(handlerMethod)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SCOPE) instanceof StatementScope scope) {
+            request.removeAttribute(SCOPE);
+            monitor.close(scope, false);
+        }
+    }
+
+    private int budget(HandlerMethod handlerMethod) {
+        StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), StatementBudget.class);
+        }
+        return budget == null ? monitor.defaultBudget() : budget.value();
+    }
+
+}
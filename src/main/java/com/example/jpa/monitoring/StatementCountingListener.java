@@ -0,0 +1,47 @@
+package com.example.jpa.monitoring;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * 실행한 SQL 수 / 읽은 행 수를 진행 중인 리포지토리 호출에 집계 (p6spy 리스너)
+ *   - 실행한 SQL 은 StatementMonitor 에도 전달 (N+1 / 예산 검사)
+ *   - 느린 SQL 은 SlowQueryRecorder 로
+ *   - executeBatch 는 한 번으로 셈
+ *   - decorator.datasource.enabled: false 면 집계되지 않음
+ */
+@Component
+public class StatementCountingListener extends SimpleJdbcEventListener {
+
+    private final RepositoryMetrics metrics;
+    private final StatementMonitor statementMonitor;
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    public StatementCountingListener(RepositoryMetrics metrics, StatementMonitor statementMonitor,
+                                     SlowQueryRecorder slowQueryRecorder) {
+        this.metrics = metrics;
+        this.statementMonitor = statementMonitor;
+        this.slowQueryRecorder = slowQueryRecorder;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        metrics.onStatement();
+        statementMonitor.onStatement(statementInformation.getSql());
+        if (slowQueryRecorder.isSlow(timeElapsedNanos)) {
+            slowQueryRecorder.record(statementInformation.getSql(), statementInformation.getSqlWithValues(), timeElapsedNanos, e);
+        }
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext, SQLException e) {
+        if (hasNext) {
+            metrics.onRow();
+        }
+    }
+
+}
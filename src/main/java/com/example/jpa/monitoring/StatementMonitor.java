@@ -0,0 +1,180 @@
+package com.example.jpa.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 / 트랜잭션 / 명시적 구간(StatementScope) 단위로 실행한 SQL 을 모양별로 집계
+ *   - SQL 모양: 리터럴 -> ?, IN 목록 -> in (?...), 공백 정리 (같은 쿼리를 값만 바꿔 실행하면 같은 모양)
+ *   - 같은 모양의 select 가 threshold 번 이상이면 N+1 의심, 구간의 SQL 수가 budget 을 넘으면 예산 초과
+ *   - IN 목록 select(InClauseExecutor chunk, TeamBatchLoader 등 배치 조회)는 반복돼도 N+1 로 보지 않음 (예산에는 포함)
+ *   - 위반 시 모양별 실행 횟수와 처음 실행한 애플리케이션 코드 위치를 경고 로그로 남김
+ *   - 구간: HTTP 요청(StatementBudgetInterceptor, @StatementBudget), open(),
+ *     트랜잭션(transaction-scope 가 true 일 때만, 요청 밖에서 SQL 이 실행되면 자동)
+ *   - 구간은 스레드 로컬 -> 다른 스레드에서 실행한 SQL(비동기, 병렬 chunk 조회)은 집계되지 않음
+ *   - SQL 은 p6spy 로 받음 (StatementCountingListener)
+ */
+@Slf4j
+@Component
+public class StatementMonitor {
+
+    static final String IN_LIST_SHAPE = "(?...)";
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)+\\)");
+    private static final int MAX_CACHED_SHAPES = 10_000;
+
+    private final int threshold;
+    private final int defaultBudget;
+    private final boolean failOnViolation;
+    private final boolean transactionScope;
+    private final ThreadLocal<StatementScope> current = new ThreadLocal<>();
+    private final ConcurrentHashMap<String, String> shapes = new ConcurrentHashMap<>();
+
+    public StatementMonitor(@Value("${app.monitoring.n-plus-one.threshold:5}") int threshold,
+                            @Value("${app.monitoring.n-plus-one.budget:100}") int defaultBudget,
+                            @Value("${app.monitoring.n-plus-one.fail-on-violation:false}") boolean failOnViolation,
+                            @Value("${app.monitoring.n-plus-one.transaction-scope:false}") boolean transactionScope) {
+        this.threshold = threshold;
+        this.defaultBudget = defaultBudget;
+        this.failOnViolation = failOnViolation;
+        this.transactionScope = transactionScope;
+    }
+
+    /**
+     * 기본 예산으로 구간 시작 (try-with-resources 로 닫음)
+     */
+    public StatementScope open(String name) {
+        return open(name, defaultBudget);
+    }
+
+    /**
+     * 구간 시작
+     *   - close() 에서 위반이면 경고 로그, fail-on-violation 이면 StatementBudgetExceededException
+     *   - 바깥 구간이 있으면 바깥 구간에도 같이 집계됨
+     */
+    public StatementScope open(String name, int budget) {
+        StatementScope scope = new StatementScope(this, name, budget, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    public int defaultBudget() {
+        return defaultBudget;
+    }
+
+    void onStatement(String sql) {
+        StatementScope scope = current.get();
+        if (scope == null) {
+            if (!transactionScope || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            scope = openTransactionScope();
+        }
+        String shape = shape(sql);
+        for (StatementScope s = scope; s != null; s = s.parent()) {
+            s.record(shape);
+        }
+    }
+
+    /**
+     * @param enforce 위반 시 예외를 던질 수 있는 곳인지 (요청 / 트랜잭션 완료 콜백에서는 로그만)
+     */
+    StatementReport close(StatementScope scope, boolean enforce) {
+        if (current.get() == scope) {
+            if (scope.parent() == null) {
+                current.remove();
+            } else {
+                current.set(scope.parent());
+            }
+        }
+        StatementReport report = scope.report(threshold);
+        if (report.violated()) {
+            log.warn(report.describe());
+            if (enforce && failOnViolation) {
+                throw new StatementBudgetExceededException(report);
+            }
+        }
+        return report;
+    }
+
+    private StatementScope openTransactionScope() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        StatementScope scope = open("transaction " + (name == null ? "" : name));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                close(scope, false);
+            }
+        });
+        return scope;
+    }
+
+    private String shape(String sql) {
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        boolean space = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+                continue;
+            }
+            if (space) {
+                out.append(' ');
+                space = false;
+            }
+            if (c == '\'') {
+                i = skipString(sql, i);
+                out.append('?');
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i + 1 < sql.length() && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+            }
+        }
+        return IN_LIST.matcher(out).replaceAll(IN_LIST_SHAPE);
+    }
+
+    private static int skipString(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2; // '' 이스케이프
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.example.jpa.monitoring;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * StatementScope 집계 결과
+ *
+ * @param shapes   실행한 SQL 모양 (처음 실행한 순서)
+ * @param repeated threshold 번 이상 실행된 select 모양 (N+1 의심)
+ */
+public record StatementReport(String name, int budget, int statements, List<SqlShape> shapes, List<SqlShape> repeated) {
+
+    public boolean exceeded() {
+        return statements > budget;
+    }
+
+    public boolean violated() {
+        return exceeded() || !repeated.isEmpty();
+    }
+
+    /**
+     * SQL 모양에 fragment 가 들어간 SQL 실행 횟수 (예: "from team")
+     */
+    public int count(String fragment) {
+        String lower = fragment.toLowerCase(Locale.ROOT);
+        return shapes.stream()
+                .filter(shape -> shape.sql().toLowerCase(Locale.ROOT).contains(lower))
+                .mapToInt(SqlShape::count)
+                .sum();
+    }
+
+    public String describe() {
+        StringBuilder message = new StringBuilder()
+                .append(name).append(": ").append(statements).append(" statements (budget ").append(budget).append(")");
+        for (SqlShape shape : repeated) {
+            message.append(System.lineSeparator())
+                    .append("  N+1 suspected: ").append(shape.count()).append("x ").append(shape.sql())
+                    .append(System.lineSeparator())
+                    .append("    first executed at ").append(shape.callSite());
+        }
+        if (exceeded() && repeated.isEmpty()) {
+            shapes.stream()
+                    .sorted((a, b) -> Integer.compare(b.count(), a.count()))
+                    .limit(5)
+                    .forEach(shape -> message.append(System.lineSeparator())
+                            .append("  ").append(shape.count()).append("x ").append(shape.sql())
+                            .append(" (at ").append(shape.callSite()).append(")"));
+        }
+        return message.toString();
+    }
+
+    public record SqlShape(String sql, int count, String callSite) {
+
+        public boolean isSelect() {
+            return sql.regionMatches(true, 0, "select", 0, 6) || sql.regionMatches(true, 0, "with", 0, 4);
+        }
+
+        /**
+         * IN 목록으로 여러 건을 한 번에 읽는 select (chunk 조회 / 배치 로딩)
+         */
+        public boolean isInListLookup() {
+            return sql.contains(StatementMonitor.IN_LIST_SHAPE);
+        }
+
+    }
+
+}
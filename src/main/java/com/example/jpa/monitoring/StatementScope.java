@@ -0,0 +1,91 @@
+package com.example.jpa.monitoring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL 집계 구간 (StatementMonitor.open)
+ *   - 열린 스레드에서만 사용
+ *   - 모양마다 처음 실행한 애플리케이션 코드 위치(call site)를 같이 기록
+ */
+public final class StatementScope implements AutoCloseable {
+
+    private final StatementMonitor monitor;
+    private final String name;
+    private final int budget;
+    private final StatementScope parent;
+    private final Map<String, Shape> shapes = new LinkedHashMap<>();
+    private int statements;
+    private boolean closed;
+
+    StatementScope(StatementMonitor monitor, String name, int budget, StatementScope parent) {
+        this.monitor = monitor;
+        this.name = name;
+        this.budget = budget;
+        this.parent = parent;
+    }
+
+    StatementScope parent() {
+        return parent;
+    }
+
+    void record(String sql) {
+        statements++;
+        Shape shape = shapes.get(sql);
+        if (shape == null) {
+            shape = new Shape(CallSites.first());
+            shapes.put(sql, shape);
+        }
+        shape.count++;
+    }
+
+    /**
+     * 지금까지의 집계 (구간은 계속 열려 있음)
+     */
+    public StatementReport report() {
+        return report(Integer.MAX_VALUE);
+    }
+
+    StatementReport report(int threshold) {
+        List<StatementReport.SqlShape> all = new ArrayList<>(shapes.size());
+        List<StatementReport.SqlShape> repeated = new ArrayList<>();
+        for (Map.Entry<String, Shape> entry : shapes.entrySet()) {
+            StatementReport.SqlShape shape = new StatementReport.SqlShape(entry.getKey(), entry.getValue().count, entry.getValue().callSite);
+            all.add(shape);
+            if (shape.count() >= threshold && shape.isSelect() && !shape.isInListLookup()) {
+                repeated.add(shape);
+            }
+        }
+        return new StatementReport(name, budget, statements, all, repeated);
+    }
+
+    /**
+     * 집계를 끝내고 결과 반환
+     *   - 위반이면 경고 로그, app.monitoring.n-plus-one.fail-on-violation 이면 StatementBudgetExceededException
+     */
+    public StatementReport finish() {
+        closed = true;
+        return monitor.close(this, true);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            finish();
+        }
+    }
+
+    private static final class Shape {
+
+        private final String callSite;
+        private int count;
+
+        private Shape(String callSite) {
+            this.callSite = callSite;
+        }
+
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.jpa.monitoring;
+
+/**
+ * 트랜잭션 하나의 프로파일 (시간 단위 ms)
+ *
+ * @param managedEntities    영속성 컨텍스트의 엔티티 수 (flush 시점과 트랜잭션 종료 시점 중 큰 값)
+ * @param dirtyCheckMillis   flush 중 dirty checking(스냅샷 비교)에 쓴 시간, flushMillis 에 포함 (dirty tracking 엔티티는 0)
+ * @param connectionWaitMillis 커넥션 풀에서 커넥션을 얻는 데 걸린 시간
+ */
+public record TransactionProfile(String name, boolean committed,
+                                 int managedEntities, int managedCollections,
+                                 int flushes, double flushMillis, int dirtyChecks, double dirtyCheckMillis,
+                                 int statements, int batches, double jdbcMillis,
+                                 int connections, double connectionWaitMillis) {
+}
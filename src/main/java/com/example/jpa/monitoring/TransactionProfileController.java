@@ -0,0 +1,38 @@
+package com.example.jpa.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * app.monitoring.web.enabled=true 일 때만 등록 (SQL / 지표 노출 -> 내부망 또는 인증 뒤에서만 켬)
+ */
+@RestController
+@ConditionalOnProperty(name = "app.monitoring.web.enabled", havingValue = "true")
+@RequestMapping("/monitoring/transactions")
+public class TransactionProfileController {
+
+    private final TransactionProfiler profiler;
+
+    public TransactionProfileController(TransactionProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * 트랜잭션 이름별 누적 프로파일 (총 flush 시간이 큰 순서)
+     */
+    @GetMapping
+    public List<TransactionStats.Snapshot> transactions() {
+        return profiler.stats();
+    }
+
+    @DeleteMapping
+    public void reset() {
+        profiler.reset();
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.example.jpa.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * 세션 하나의 flush / dirty checking / JDBC / 커넥션 대기 시간 측정
+ *   - hibernate.session.events.auto 로 등록 -> Hibernate 가 세션마다 생성 (스프링 빈 아님)
+ *   - 트랜잭션이 끝날 때마다 TransactionProfiler 로 넘기고 초기화 (세션 하나에 트랜잭션이 여러 번이어도 트랜잭션별)
+ *   - 세션은 한 스레드에서만 쓰므로 동기화 없음
+ */
+public class TransactionProfileListener implements SessionEventListener {
+
+    int flushes;
+    long flushNanos;
+    int flushedEntities;
+    int flushedCollections;
+    int dirtyChecks;
+    long dirtyCheckNanos;
+    int statements;
+    int batches;
+    long jdbcNanos;
+    int connections;
+    long connectionWaitNanos;
+
+    private long flushStart;
+    private long dirtyCheckStart;
+    private long jdbcStart;
+    private long connectionStart;
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        TransactionProfiler profiler = TransactionProfiler.active();
+        if (profiler != null) {
+            profiler.complete(this, successful);
+        }
+        reset();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connections++;
+        connectionWaitNanos += System.nanoTime() - connectionStart;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        jdbcStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+        jdbcNanos += System.nanoTime() - jdbcStart;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        batches++;
+        jdbcNanos += System.nanoTime() - jdbcStart;
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        endFlush(numberOfEntities, numberOfCollections);
+    }
+
+    /**
+     * 쿼리 실행 전 자동 flush
+     */
+    @Override
+    public void partialFlushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        endFlush(numberOfEntities, numberOfCollections);
+    }
+
+    /**
+     * flush 중 엔티티 하나의 dirty checking (스냅샷 비교)
+     *   - 바이트코드 향상으로 변경 필드를 직접 기록하는 엔티티는 비교하지 않으므로 호출되지 않음
+     */
+    @Override
+    public void dirtyCalculationStart() {
+        dirtyCheckStart = System.nanoTime();
+    }
+
+    @Override
+    public void dirtyCalculationEnd(boolean dirty) {
+        dirtyChecks++;
+        dirtyCheckNanos += System.nanoTime() - dirtyCheckStart;
+    }
+
+    private void endFlush(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+        flushNanos += System.nanoTime() - flushStart;
+        flushedEntities = Math.max(flushedEntities, numberOfEntities);
+        flushedCollections = Math.max(flushedCollections, numberOfCollections);
+    }
+
+    private void reset() {
+        flushes = 0;
+        flushNanos = 0;
+        flushedEntities = 0;
+        flushedCollections = 0;
+        dirtyChecks = 0;
+        dirtyCheckNanos = 0;
+        statements = 0;
+        batches = 0;
+        jdbcNanos = 0;
+        connections = 0;
+        connectionWaitNanos = 0;
+    }
+
+}
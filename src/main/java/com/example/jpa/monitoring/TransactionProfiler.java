@@ -0,0 +1,124 @@
+package com.example.jpa.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 트랜잭션별 영속성 컨텍스트 / flush 프로파일 (TransactionProfileListener 가 트랜잭션 종료 시 호출)
+ *   - 관리 중인 엔티티 / 컬렉션 수, flush 횟수와 시간, dirty checking 시간, JDBC 실행 / batch 수, 커넥션 대기 시간
+ *   - 트랜잭션 이름(@Transactional 메서드, TransactionTemplate name)별로 누적 -> GET /monitoring/transactions
+ *   - 트랜잭션마다 debug 로그, 영속성 컨텍스트가 managed-entity-threshold 를 넘으면 경고 (호출 위치 포함)
+ *   - 리스너는 Hibernate 가 만들므로 static 으로 연결
+ *     (컨텍스트가 여러 개면 현재 스레드에 EntityManager 가 묶인 EntityManagerFactory 의 것, 스프링 밖 트랜잭션은 하나뿐일 때만)
+ */
+@Slf4j
+@Component
+public class TransactionProfiler {
+
+    private static final CopyOnWriteArrayList<TransactionProfiler> PROFILERS = new CopyOnWriteArrayList<>();
+
+    private final EntityManagerFactory emf;
+    private final ConcurrentHashMap<String, TransactionStats> stats = new ConcurrentHashMap<>();
+    private volatile int managedEntityThreshold;
+
+    public TransactionProfiler(EntityManagerFactory emf,
+                               @Value("${app.monitoring.transaction.managed-entity-threshold:10000}") int managedEntityThreshold) {
+        this.emf = emf;
+        this.managedEntityThreshold = managedEntityThreshold;
+    }
+
+    static TransactionProfiler active() {
+        for (TransactionProfiler profiler : PROFILERS) {
+            if (TransactionSynchronizationManager.hasResource(profiler.emf)) {
+                return profiler;
+            }
+        }
+        return PROFILERS.size() == 1 ? PROFILERS.get(0) : null;
+    }
+
+    @PostConstruct
+    public void register() {
+        PROFILERS.add(this);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        PROFILERS.remove(this);
+    }
+
+    public void setManagedEntityThreshold(int managedEntityThreshold) {
+        this.managedEntityThreshold = managedEntityThreshold;
+    }
+
+    public int getManagedEntityThreshold() {
+        return managedEntityThreshold;
+    }
+
+    void complete(TransactionProfileListener listener, boolean committed) {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        PersistenceContext persistenceContext = persistenceContext();
+        int entities = listener.flushedEntities;
+        int collections = listener.flushedCollections;
+        if (persistenceContext != null) {
+            entities = Math.max(entities, persistenceContext.getNumberOfManagedEntities());
+            collections = Math.max(collections, persistenceContext.getCollectionEntriesSize());
+        }
+
+        TransactionProfile profile = new TransactionProfile(name == null ? "unnamed" : name, committed,
+                entities, collections,
+                listener.flushes, millis(listener.flushNanos), listener.dirtyChecks, millis(listener.dirtyCheckNanos),
+                listener.statements, listener.batches, millis(listener.jdbcNanos),
+                listener.connections, millis(listener.connectionWaitNanos));
+        boolean large = entities > managedEntityThreshold;
+        stats.computeIfAbsent(profile.name(), TransactionStats::new).add(profile, large);
+
+        log.debug("{}", profile);
+        if (large) {
+            log.warn("transaction {} held {} managed entities / {} collections (threshold {}), flush {}ms, dirty checking {}ms (at {})",
+                    profile.name(), entities, collections, managedEntityThreshold,
+                    profile.flushMillis(), profile.dirtyCheckMillis(), CallSites.first());
+        }
+    }
+
+    /**
+     * 총 flush 시간이 큰 순서
+     */
+    public List<TransactionStats.Snapshot> stats() {
+        return stats.values().stream()
+                .map(TransactionStats::snapshot)
+                .sorted(Comparator.comparingDouble(TransactionStats.Snapshot::flushMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * 트랜잭션이 끝나는 중에도 EntityManager 는 아직 스레드에 묶여 있음 (정리는 그 뒤)
+     */
+    private PersistenceContext persistenceContext() {
+        if (TransactionSynchronizationManager.getResource(emf) instanceof EntityManagerHolder holder) {
+            return holder.getEntityManager().unwrap(SessionImplementor.class).getPersistenceContextInternal();
+        }
+        return null;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+}
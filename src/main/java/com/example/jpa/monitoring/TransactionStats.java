@@ -0,0 +1,66 @@
+package com.example.jpa.monitoring;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 트랜잭션 이름 하나의 누적 프로파일
+ */
+public final class TransactionStats {
+
+    private final String name;
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder largeContexts = new LongAdder();
+    private final LongAccumulator maxManagedEntities = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxManagedCollections = new LongAccumulator(Math::max, 0);
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushMicros = new LongAdder();
+    private final LongAdder dirtyChecks = new LongAdder();
+    private final LongAdder dirtyCheckMicros = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder connectionWaitMicros = new LongAdder();
+
+    TransactionStats(String name) {
+        this.name = name;
+    }
+
+    void add(TransactionProfile profile, boolean large) {
+        transactions.increment();
+        if (!profile.committed()) {
+            rollbacks.increment();
+        }
+        if (large) {
+            largeContexts.increment();
+        }
+        maxManagedEntities.accumulate(profile.managedEntities());
+        maxManagedCollections.accumulate(profile.managedCollections());
+        flushes.add(profile.flushes());
+        flushMicros.add(Math.round(profile.flushMillis() * 1000));
+        dirtyChecks.add(profile.dirtyChecks());
+        dirtyCheckMicros.add(Math.round(profile.dirtyCheckMillis() * 1000));
+        statements.add(profile.statements());
+        batches.add(profile.batches());
+        connectionWaitMicros.add(Math.round(profile.connectionWaitMillis() * 1000));
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(name, transactions.sum(), rollbacks.sum(), largeContexts.sum(),
+                maxManagedEntities.get(), maxManagedCollections.get(),
+                flushes.sum(), flushMicros.sum() / 1000.0, dirtyChecks.sum(), dirtyCheckMicros.sum() / 1000.0,
+                statements.sum(), batches.sum(), connectionWaitMicros.sum() / 1000.0);
+    }
+
+    /**
+     * 시간은 합계 (ms)
+     *
+     * @param largeContexts managed-entity-threshold 를 넘은 트랜잭션 수
+     */
+    public record Snapshot(String name, long transactions, long rollbacks, long largeContexts,
+                           long maxManagedEntities, long maxManagedCollections,
+                           long flushes, double flushMillis, long dirtyChecks, double dirtyCheckMillis,
+                           long statements, long batches, double connectionWaitMillis) {
+    }
+
+}
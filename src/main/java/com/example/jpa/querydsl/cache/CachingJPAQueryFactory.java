@@ -0,0 +1,26 @@
+package com.example.jpa.querydsl.cache;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+
+/**
+ * select / selectFrom / from 으로 만든 쿼리가 템플릿 캐시를 사용하는 JPAQueryFactory
+ */
+public class CachingJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final QueryTemplateCache cache;
+
+    public CachingJPAQueryFactory(EntityManager em, QueryTemplateCache cache) {
+        super(em);
+        this.em = em;
+        this.cache = cache;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new TemplateCachingJPAQuery<Void>(em, cache);
+    }
+
+}
@@ -0,0 +1,377 @@
+package com.example.jpa.querydsl.cache;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.SubQueryExpressionImpl;
+import com.querydsl.core.types.Template;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLTemplates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Querydsl 쿼리의 모양(shape) = 템플릿 캐시 키
+ *   - where / having / join on 의 상수를 ? 로 바꾼 표현식 구조, 상수 값은 나온 순서대로 따로 보관
+ *   - select / group by / order by 의 상수는 값까지 키에 포함 (JPQL 에 그대로 들어감)
+ *   - JPQLSerializer 가 값에 따라 다른 JPQL 을 만드는 경우는 캐시하지 않음
+ *     (빈 컬렉션 IN, startsWith 처럼 상수를 변환하는 템플릿, matches, case 등)
+ */
+final class QueryShape {
+
+    /**
+     * JPQLSerializer 가 상수 값을 보고 직접 처리하는 연산
+     */
+    private static final Set<Operator> VALUE_SENSITIVE = Set.of(
+            Ops.MATCHES, Ops.MATCHES_IC, Ops.NUMCAST,
+            Ops.CASE, Ops.CASE_WHEN, Ops.CASE_ELSE, Ops.CASE_EQ, Ops.CASE_EQ_WHEN, Ops.CASE_EQ_ELSE);
+
+    private final String key;
+    private final List<Object> values;
+
+    private QueryShape(String key, List<Object> values) {
+        this.key = key;
+        this.values = values;
+    }
+
+    /**
+     * @return 캐시할 수 없는 쿼리면 null
+     */
+    static QueryShape of(QueryMetadata metadata, JPQLTemplates templates) {
+        KeyVisitor visitor = new KeyVisitor(templates);
+        visitor.metadata(metadata, true);
+        return visitor.cacheable ? new QueryShape(visitor.key.toString(), visitor.values) : null;
+    }
+
+    String key() {
+        return key;
+    }
+
+    List<Object> values() {
+        return values;
+    }
+
+    /**
+     * 상수 자리를 Param(p0, p1, ...) 으로 바꾼 메타데이터 - 번호는 KeyVisitor 가 값을 모은 순서와 같음
+     */
+    static QueryMetadata parameterize(QueryMetadata metadata, JPQLTemplates templates, List<Param<?>> params) {
+        return new ParamVisitor(templates, params).metadata(metadata, true);
+    }
+
+    private static boolean bindableArgs(Template template, Operator operator) {
+        if (template == null || (operator != null && VALUE_SENSITIVE.contains(operator))) {
+            return false;
+        }
+        for (Template.Element element : template.getElements()) {
+            if (!(element instanceof Template.ByIndex) && !(element instanceof Template.StaticText)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean bindableValue(Object value) {
+        return !(value instanceof Class<?>) && !(value instanceof Collection<?> c && c.isEmpty());
+    }
+
+    /**
+     * 키 문자열과 바인딩할 값 수집
+     *   - ParamVisitor 와 같은 순서(join on -> where -> having)로 상수를 방문해야 함
+     */
+    private static final class KeyVisitor implements Visitor<Void, Void> {
+
+        private final JPQLTemplates templates;
+        private final StringBuilder key = new StringBuilder(128);
+        private final List<Object> values = new ArrayList<>();
+        private boolean parameterize;
+        private boolean cacheable = true;
+
+        KeyVisitor(JPQLTemplates templates) {
+            this.templates = templates;
+        }
+
+        void metadata(QueryMetadata md, boolean parameterizable) {
+            boolean outer = parameterize;
+            key.append(md.isDistinct() ? "select distinct " : "select ");
+            region(md.getProjection(), false);
+            for (JoinExpression join : md.getJoins()) {
+                key.append(' ').append(join.getType()).append(' ');
+                region(join.getTarget(), false);
+                if (join.getCondition() != null) {
+                    key.append(" on ");
+                    region(join.getCondition(), parameterizable);
+                }
+                for (JoinFlag flag : join.getFlags()) {
+                    key.append(' ').append(flag.getPosition()).append(':');
+                    region(flag.getFlag(), false);
+                }
+            }
+            key.append(" where ");
+            region(md.getWhere(), parameterizable);
+            key.append(" group by ");
+            for (Expression<?> groupBy : md.getGroupBy()) {
+                region(groupBy, false);
+                key.append(',');
+            }
+            key.append(" having ");
+            region(md.getHaving(), parameterizable);
+            key.append(" order by ");
+            for (OrderSpecifier<?> order : md.getOrderBy()) {
+                region(order.getTarget(), false);
+                key.append(' ').append(order.getOrder()).append(' ').append(order.getNullHandling()).append(',');
+            }
+            for (QueryFlag flag : md.getFlags()) {
+                key.append(' ').append(flag.getPosition()).append(':');
+                region(flag.getFlag(), false);
+            }
+            parameterize = outer;
+        }
+
+        private void region(Expression<?> expr, boolean parameterizable) {
+            if (expr != null) {
+                parameterize = parameterizable;
+                expr.accept(this, null);
+            }
+        }
+
+        private void args(List<Expression<?>> args, boolean bindable) {
+            key.append('(');
+            for (Expression<?> arg : args) {
+                if (arg instanceof Constant<?> constant) {
+                    constant(constant, bindable);
+                } else {
+                    arg.accept(this, null);
+                }
+                key.append(',');
+            }
+            key.append(')');
+        }
+
+        private void constant(Constant<?> constant, boolean bindable) {
+            Object value = constant.getConstant();
+            if (!parameterize) {
+                key.append('\'').append(value.getClass().getName()).append(':').append(value).append('\'');
+            } else if (bindable && bindableValue(value)) {
+                key.append('?');
+                values.add(value);
+            } else {
+                cacheable = false;
+            }
+        }
+
+        @Override
+        public Void visit(Constant<?> expr, Void context) {
+            constant(expr, false);
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Void context) {
+            boolean outer = parameterize;
+            parameterize = false;
+            key.append("new ").append(expr.getType().getName());
+            args(expr.getArgs(), false);
+            parameterize = outer;
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Void context) {
+            Operator operator = expr.getOperator();
+            key.append(operator.name());
+            args(expr.getArgs(), bindableArgs(templates.getTemplate(operator), operator));
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Void context) {
+            key.append(':').append(expr.getName());
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Void context) {
+            PathMetadata md = expr.getMetadata();
+            if (md.getParent() == null) {
+                key.append(expr.getType().getName()).append(' ').append(md.getName());
+            } else {
+                md.getParent().accept(this, null);
+                key.append('.').append(md.getPathType()).append(':').append(md.getElement());
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Void context) {
+            key.append('(');
+            metadata(expr.getMetadata(), parameterize);
+            key.append(')');
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Void context) {
+            key.append('{').append(expr.getTemplate()).append('}');
+            List<Expression<?>> args = new ArrayList<>(expr.getArgs().size());
+            for (Object arg : expr.getArgs()) {
+                if (!(arg instanceof Expression<?> e)) {
+                    cacheable = false;
+                    return null;
+                }
+                args.add(e);
+            }
+            args(args, bindableArgs(expr.getTemplate(), null));
+            return null;
+        }
+
+    }
+
+    /**
+     * 메타데이터 복사 - 바인딩할 상수를 Param 으로 교체
+     */
+    private static final class ParamVisitor implements Visitor<Expression<?>, Void> {
+
+        private final JPQLTemplates templates;
+        private final List<Param<?>> params;
+
+        ParamVisitor(JPQLTemplates templates, List<Param<?>> params) {
+            this.templates = templates;
+            this.params = params;
+        }
+
+        QueryMetadata metadata(QueryMetadata src, boolean parameterizable) {
+            QueryMetadata md = new DefaultQueryMetadata();
+            md.setValidate(false);
+            md.setDistinct(src.isDistinct());
+            md.setUnique(src.isUnique());
+            md.setModifiers(src.getModifiers());
+            md.setProjection(src.getProjection());
+            for (JoinExpression join : src.getJoins()) {
+                md.addJoin(join.getType(), join.getTarget());
+                if (join.getCondition() != null) {
+                    md.addJoinCondition(parameterizable ? replace(join.getCondition()) : join.getCondition());
+                }
+                for (JoinFlag flag : join.getFlags()) {
+                    md.addJoinFlag(flag);
+                }
+            }
+            if (src.getWhere() != null) {
+                md.addWhere(parameterizable ? replace(src.getWhere()) : src.getWhere());
+            }
+            for (Expression<?> groupBy : src.getGroupBy()) {
+                md.addGroupBy(groupBy);
+            }
+            if (src.getHaving() != null) {
+                md.addHaving(parameterizable ? replace(src.getHaving()) : src.getHaving());
+            }
+            for (OrderSpecifier<?> order : src.getOrderBy()) {
+                md.addOrderBy(order);
+            }
+            for (QueryFlag flag : src.getFlags()) {
+                md.addFlag(flag);
+            }
+            for (Map.Entry<ParamExpression<?>, Object> param : src.getParams().entrySet()) {
+                setParam(md, param.getKey(), param.getValue());
+            }
+            return md;
+        }
+
+        private Predicate replace(Predicate predicate) {
+            return (Predicate) predicate.accept(this, null);
+        }
+
+        private List<Expression<?>> args(List<Expression<?>> args, boolean bindable) {
+            List<Expression<?>> replaced = new ArrayList<>(args.size());
+            for (Expression<?> arg : args) {
+                if (arg instanceof Constant<?> constant && bindable) {
+                    replaced.add(param(constant));
+                } else {
+                    replaced.add(arg.accept(this, null));
+                }
+            }
+            return replaced;
+        }
+
+        private Param<?> param(Constant<?> constant) {
+            Param<?> param = new Param<>(constant.getType(), "p" + params.size());
+            params.add(param);
+            return param;
+        }
+
+        @Override
+        public Expression<?> visit(Constant<?> expr, Void context) {
+            return expr;
+        }
+
+        @Override
+        public Expression<?> visit(FactoryExpression<?> expr, Void context) {
+            return expr;
+        }
+
+        @Override
+        public Expression<?> visit(Operation<?> expr, Void context) {
+            Operator operator = expr.getOperator();
+            List<Expression<?>> args = args(expr.getArgs(), bindableArgs(templates.getTemplate(operator), operator));
+            if (expr instanceof Predicate) {
+                return ExpressionUtils.predicate(operator, args);
+            }
+            return ExpressionUtils.operation(expr.getType(), operator, args);
+        }
+
+        @Override
+        public Expression<?> visit(ParamExpression<?> expr, Void context) {
+            return expr;
+        }
+
+        @Override
+        public Expression<?> visit(Path<?> expr, Void context) {
+            return expr;
+        }
+
+        @Override
+        public Expression<?> visit(SubQueryExpression<?> expr, Void context) {
+            return new SubQueryExpressionImpl<>(expr.getType(), metadata(expr.getMetadata(), true));
+        }
+
+        @Override
+        public Expression<?> visit(TemplateExpression<?> expr, Void context) {
+            List<Expression<?>> args = new ArrayList<>(expr.getArgs().size());
+            for (Object arg : expr.getArgs()) {
+                args.add((Expression<?>) arg);
+            }
+            List<Expression<?>> replaced = args(args, bindableArgs(expr.getTemplate(), null));
+            if (expr instanceof Predicate) {
+                return ExpressionUtils.predicateTemplate(expr.getTemplate(), replaced);
+            }
+            return ExpressionUtils.template(expr.getType(), expr.getTemplate(), replaced);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void setParam(QueryMetadata md, ParamExpression<?> param, Object value) {
+            md.setParam((ParamExpression<Object>) param, value);
+        }
+
+    }
+
+}
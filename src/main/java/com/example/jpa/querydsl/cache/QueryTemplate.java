@@ -0,0 +1,68 @@
+package com.example.jpa.querydsl.cache;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+
+import java.util.List;
+
+/**
+ * 캐시된 쿼리 템플릿
+ *   - JPQL 문자열이 매번 같으므로 Hibernate 도 쿼리 plan 캐시(hibernate.query.plan_cache_max_size)에서 재사용
+ *   - 값은 Param(p0, p1, ...) 으로 바인딩 -> JPAUtil.setConstants 가 쿼리 메타데이터의 param 값을 사용
+ */
+final class QueryTemplate {
+
+    private final JPQLSerializer serializer;
+    private final List<Param<?>> params;
+
+    QueryTemplate(JPQLTemplates templates, String jpql, List<Object> constants, List<Param<?>> params) {
+        this.serializer = new PrecompiledSerializer(templates, jpql, constants);
+        this.params = List.copyOf(params);
+    }
+
+    JPQLSerializer bind(QueryMetadata metadata, List<Object> values) {
+        for (int i = 0; i < params.size(); i++) {
+            setParam(metadata, params.get(i), values.get(i));
+        }
+        return serializer;
+    }
+
+    String jpql() {
+        return serializer.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setParam(QueryMetadata metadata, ParamExpression<?> param, Object value) {
+        metadata.setParam((ParamExpression<Object>) param, value);
+    }
+
+    /**
+     * 직렬화 결과만 돌려주는 serializer (AbstractJPAQuery.createQuery 는 toString / getConstants 만 사용)
+     */
+    private static final class PrecompiledSerializer extends JPQLSerializer {
+
+        private final String jpql;
+        private final List<Object> constants;
+
+        PrecompiledSerializer(JPQLTemplates templates, String jpql, List<Object> constants) {
+            super(templates);
+            this.jpql = jpql;
+            this.constants = List.copyOf(constants);
+        }
+
+        @Override
+        public List<Object> getConstants() {
+            return constants;
+        }
+
+        @Override
+        public String toString() {
+            return jpql;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.jpa.querydsl.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Querydsl 쿼리 템플릿 캐시 (쿼리 shape -> 직렬화된 JPQL)
+ *   - 조건 값만 바뀌는 동적 검색은 JPQL 직렬화를 건너뛰고 값만 바인딩
+ *   - max-size 를 넘으면 더 저장하지 않음 (조건 조합이 폭발하는 쿼리가 캐시를 밀어내지 않도록)
+ *   - 사용: CachingJPAQueryFactory
+ *   - JPQL 직렬화만 아끼므로 효과가 작음 -> app.querydsl.template-cache.enabled=true 일 때만 사용 (기본 꺼짐)
+ */
+@Component
+@ConditionalOnProperty(name = "app.querydsl.template-cache.enabled", havingValue = "true")
+public class QueryTemplateCache {
+
+    private final ConcurrentHashMap<String, QueryTemplate> templates = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public QueryTemplateCache(@Value("${app.querydsl.template-cache.max-size:1000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    QueryTemplate get(String key, Supplier<QueryTemplate> compiler) {
+        QueryTemplate template = templates.get(key);
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+        misses.increment();
+        template = compiler.get();
+        if (templates.size() < maxSize) {
+            templates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * 캐시할 수 없는 쿼리 (QueryShape 참고)
+     */
+    void bypass() {
+        bypassed.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), bypassed.sum(), templates.size());
+    }
+
+    public void clear() {
+        templates.clear();
+        hits.reset();
+        misses.reset();
+        bypassed.reset();
+    }
+
+    public record Stats(long hits, long misses, long bypassed, int size) {
+
+        public double hitRatio() {
+            long lookups = hits + misses + bypassed;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.jpa.querydsl.cache;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 직렬화 결과를 QueryTemplateCache 에서 가져오는 JPAQuery
+ *   - count 쿼리(fetchCount, fetchResults 의 count)는 매번 직렬화
+ */
+public class TemplateCachingJPAQuery<T> extends JPAQuery<T> {
+
+    private final QueryTemplateCache cache;
+
+    public TemplateCachingJPAQuery(EntityManager em, QueryTemplateCache cache) {
+        super(em);
+        this.cache = cache;
+    }
+
+    @Override
+    protected JPQLSerializer serialize(boolean forCountRow) {
+        QueryMetadata metadata = getMetadata();
+        if (forCountRow || metadata.getJoins().isEmpty()) {
+            return super.serialize(forCountRow);
+        }
+        QueryShape shape = QueryShape.of(metadata, getTemplates());
+        if (shape == null) {
+            cache.bypass();
+            return super.serialize(false);
+        }
+        return cache.get(shape.key(), () -> compile(metadata)).bind(metadata, shape.values());
+    }
+
+    private QueryTemplate compile(QueryMetadata metadata) {
+        List<Param<?>> params = new ArrayList<>();
+        QueryMetadata parameterized = QueryShape.parameterize(metadata, getTemplates(), params);
+        JPQLSerializer serializer = createSerializer();
+        serializer.serialize(parameterized, false, null);
+        return new QueryTemplate(getTemplates(), serializer.toString(), serializer.getConstants(), params);
+    }
+
+}
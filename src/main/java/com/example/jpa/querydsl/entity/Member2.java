@@ -1,7 +1,9 @@
 package com.example.jpa.querydsl.entity;
 
+import com.example.jpa.entity.id.ConcurrentPooledOptimizer;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 @Entity
 @Getter
@@ -11,7 +13,8 @@ import lombok.*;
 public class Member2 {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member2_seq_generator")
+    @SequenceGenerator(name = "member2_seq_generator", sequenceName = "member2_seq", allocationSize = ConcurrentPooledOptimizer.ALLOCATION_SIZE)
     @Column(name = "member_id")
     private Long id;
 
@@ -39,9 +42,18 @@ public class Member2 {
         }
     }
 
+    /**
+     * 이전 팀이 초기화 안 된 프록시면 로딩하지 않음, 같은 팀이면 아무것도 하지 않음
+     */
     public void changeTeam(Team2 team) {
+        if (this.team == team) {
+            return;
+        }
+        if (this.team != null && Hibernate.isInitialized(this.team)) {
+            this.team.removeMember(this);
+        }
         this.team = team;
-        team.getMembers().add(this);
+        team.addMember(this);
     }
 
 }
@@ -1,13 +1,18 @@
 package com.example.jpa.querydsl.entity;
 
+import com.example.jpa.entity.id.ConcurrentPooledOptimizer;
 import jakarta.persistence.Entity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team2") // 2차 캐시 (거의 변경되지 않는 팀 조회용)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -15,7 +20,8 @@ import java.util.List;
 public class Team2 {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team2_seq_generator")
+    @SequenceGenerator(name = "team2_seq_generator", sequenceName = "team2_seq", allocationSize = ConcurrentPooledOptimizer.ALLOCATION_SIZE)
     @Column(name = "team_id")
     private Long id;
 
@@ -28,4 +34,20 @@ public class Team2 {
         this.name = name;
     }
 
+    /**
+     * members 를 초기화하지 않고 추가 (지연 컬렉션이면 Hibernate 가 큐에 쌓아둠)
+     */
+    void addMember(Member2 member) {
+        members.add(member);
+    }
+
+    /**
+     * members 가 초기화된 경우에만 제거
+     */
+    void removeMember(Member2 member) {
+        if (Hibernate.isInitialized(members)) {
+            members.remove(member);
+        }
+    }
+
 }
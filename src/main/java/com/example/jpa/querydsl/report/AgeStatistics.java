@@ -0,0 +1,24 @@
+package com.example.jpa.querydsl.report;
+
+/**
+ * 나이 집계 (count, sum, min, max)
+ *   - 구간별 부분 집계를 merge 로 합침
+ *   - 평균은 합친 뒤 sum / count 로 계산 (부분 평균의 평균은 틀림)
+ */
+public record AgeStatistics(long count, long sum, Integer min, Integer max) {
+
+    public static final AgeStatistics EMPTY = new AgeStatistics(0, 0, null, null);
+
+    public AgeStatistics merge(AgeStatistics other) {
+        return new AgeStatistics(
+                count + other.count,
+                sum + other.sum,
+                min == null ? other.min : other.min == null ? min : Math.min(min, other.min),
+                max == null ? other.max : other.max == null ? max : Math.max(max, other.max));
+    }
+
+    public Double average() {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+}
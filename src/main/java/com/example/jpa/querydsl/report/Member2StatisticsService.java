@@ -0,0 +1,151 @@
+package com.example.jpa.querydsl.report;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static com.example.jpa.querydsl.entity.QMember2.member2;
+import static com.example.jpa.querydsl.entity.QTeam2.team2;
+
+/**
+ * Member2 나이 통계 (병렬 구간 집계)
+ *   - member_id 범위를 partitions 개 구간으로 나눔
+ *   - 구간마다 별도 EntityManager(커넥션)에서 부분 집계 -> ForkJoinPool 에서 동시 실행
+ *   - 부분 집계를 합쳐서 결과 계산 (AVG 는 sum / count)
+ *   - 구간들은 서로 다른 시점에 읽으므로 동시에 변경되는 테이블에서는 한 시점의 스냅샷이 아님
+ */
+@Service
+public class Member2StatisticsService {
+
+    private final EntityManagerFactory emf;
+    private final ForkJoinPool pool;
+    private final int partitions;
+
+    public Member2StatisticsService(EntityManagerFactory emf,
+                                    @Value("${app.report.parallelism:4}") int parallelism) {
+        this.emf = emf;
+        this.pool = new ForkJoinPool(parallelism);
+        this.partitions = parallelism;
+    }
+
+    /**
+     * 전체 회원 count / sum / avg / max / min
+     */
+    public AgeStatistics ageStatistics() {
+        return aggregate(range -> List.of(partialAgeStatistics(range)))
+                .stream()
+                .reduce(AgeStatistics.EMPTY, AgeStatistics::merge);
+    }
+
+    /**
+     * 팀별 나이 통계 (팀 이름순), 팀 없는 회원은 제외
+     */
+    public List<TeamAgeStatistics> ageStatisticsByTeam() {
+        Map<Long, TeamAgeStatistics> merged = new LinkedHashMap<>();
+        for (TeamAgeStatistics partial : aggregate(this::partialTeamAgeStatistics)) {
+            merged.merge(partial.teamId(), partial, TeamAgeStatistics::merge);
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparing(TeamAgeStatistics::teamName))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private <T> List<T> aggregate(Function<IdRange, List<T>> partial) {
+        List<IdRange> ranges = split();
+        List<CompletableFuture<List<T>>> futures = ranges.stream()
+                .map(range -> CompletableFuture.supplyAsync(() -> partial.apply(range), pool))
+                .toList();
+        List<T> result = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    private List<IdRange> split() {
+        Tuple bounds = query(queryFactory -> queryFactory
+                .select(member2.id.min(), member2.id.max())
+                .from(member2)
+                .fetchOne());
+        Long min = bounds == null ? null : bounds.get(member2.id.min());
+        Long max = bounds == null ? null : bounds.get(member2.id.max());
+        if (min == null) {
+            return List.of();
+        }
+
+        long size = Math.max(1, (max - min) / partitions + 1);
+        List<IdRange> ranges = new ArrayList<>(partitions);
+        for (long from = min; from <= max; from += size) {
+            ranges.add(new IdRange(from, Math.min(from + size - 1, max)));
+        }
+        return ranges;
+    }
+
+    private AgeStatistics partialAgeStatistics(IdRange range) {
+        Tuple tuple = query(queryFactory -> queryFactory
+                .select(member2.count(), member2.age.sum(), member2.age.min(), member2.age.max())
+                .from(member2)
+                .where(member2.id.between(range.from(), range.to()))
+                .fetchOne());
+        return toStatistics(tuple, 0);
+    }
+
+    private List<TeamAgeStatistics> partialTeamAgeStatistics(IdRange range) {
+        List<Tuple> tuples = query(queryFactory -> queryFactory
+                .select(team2.id, team2.name, member2.count(), member2.age.sum(), member2.age.min(), member2.age.max())
+                .from(member2)
+                .join(member2.team, team2)
+                .where(member2.id.between(range.from(), range.to()))
+                .groupBy(team2.id, team2.name)
+                .fetch());
+        return tuples.stream()
+                .map(t -> new TeamAgeStatistics(t.get(team2.id), t.get(team2.name), toStatistics(t, 2)))
+                .toList();
+    }
+
+    /**
+     * count, sum, min, max 순서의 컬럼을 읽음 (sum 은 DB 에 따라 Integer / Long 이므로 Number 로 받음)
+     */
+    private static AgeStatistics toStatistics(Tuple tuple, int offset) {
+        Number count = tuple.get(offset, Number.class);
+        if (count == null || count.longValue() == 0) {
+            return AgeStatistics.EMPTY;
+        }
+        return new AgeStatistics(
+                count.longValue(),
+                tuple.get(offset + 1, Number.class).longValue(),
+                tuple.get(offset + 2, Number.class).intValue(),
+                tuple.get(offset + 3, Number.class).intValue());
+    }
+
+    private <T> T query(Function<JPAQueryFactory, T> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return work.apply(new JPAQueryFactory(em));
+        } finally {
+            em.close();
+        }
+    }
+
+    private record IdRange(long from, long to) {
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.example.jpa.querydsl.report;
+
+/**
+ * 팀별 나이 집계
+ */
+public record TeamAgeStatistics(Long teamId, String teamName, AgeStatistics age) {
+
+    public TeamAgeStatistics merge(TeamAgeStatistics other) {
+        return new TeamAgeStatistics(teamId, teamName, age.merge(other.age));
+    }
+
+}
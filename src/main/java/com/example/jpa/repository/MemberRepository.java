@@ -3,13 +3,14 @@ package com.example.jpa.repository;
 import com.example.jpa.dto.MemberDto;
 import com.example.jpa.entity.Member;
 import com.example.jpa.repository.custom.MemberCustomRepository;
+import com.example.jpa.repository.support.BatchLoadTeams;
+import com.example.jpa.repository.support.ReadOnlyQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -21,6 +22,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     /**
      * 메서드 이름 방식
      */
+    @BatchLoadTeams
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
     /**
@@ -48,10 +50,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     List<MemberDto> findMemberDto();
 
     /**
-     * 컬렉션 파라미터 바인딩
+     * 컬렉션 파라미터 바인딩 -> MemberCustomRepository.finByNames (InClauseExecutor)
      */
-    @Query("select m from Member m where m.username in :names")
-    List<Member> finByNames(@Param("names") List<String> names);
 
     /**
      * 메서드 이름 방식 - List 반환타입
@@ -86,16 +86,15 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
 //    List<Member> find4ByUsername(String name, Sort sort);
 
     /**
-     * bulk update
+     * bulk update -> MemberCustomRepository.bulkAgePlus (count 캐시 무효화)
      */
-    @Modifying
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
 
     /**
      * fetch join
      *   - 연관된 테이블까지 싹 다 영속성 컨텍스트에 로딩시킴
+     *   - 읽기 전용 (스냅샷 / dirty checking 없음)
      */
+    @ReadOnlyQuery
     @Query("select m from Member m left join fetch m.team")
     List<Member> findMemberFetchJoin();
 
@@ -104,7 +103,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     @EntityGraph(attributePaths = {"team"})
     List<Member> findAll();
 
-    //JPQL + 엔티티 그래프
+    //JPQL + 엔티티 그래프 (읽기 전용)
+    @ReadOnlyQuery
     @EntityGraph(attributePaths = {"team"})
     @Query("select m from Member m")
     List<Member> findMemberEntityGraph();
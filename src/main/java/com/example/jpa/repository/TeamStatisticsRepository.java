@@ -0,0 +1,7 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.TeamStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TeamStatisticsRepository extends JpaRepository<TeamStatistics, Long> {
+}
@@ -0,0 +1,161 @@
+package com.example.jpa.repository.async;
+
+import com.example.jpa.dto.MemberDto;
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import com.example.jpa.repository.support.KeysetPage;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 회원 조회 비동기 API (CompletableFuture)
+ *   - 작업마다 별도 읽기 전용 트랜잭션 -> 작업 스레드에 EntityManager 가 따로 열리고 끝나면 닫힘
+ *   - 반환된 엔티티는 준영속: 지연 로딩 연관관계는 작업 안에서 초기화하거나 DTO 로 조회
+ *   - 동시 실행 작업 수는 커넥션 풀 크기로 제한 (Semaphore) -> 커넥션 대기로 풀이 밀리지 않음
+ *   - executor: virtual 스레드(Java 21+) 사용, 런타임이 지원하지 않으면 풀 크기만큼의 플랫폼 스레드
+ */
+@Slf4j
+@Component
+public class AsyncMemberRepository {
+
+    private final MemberRepository memberRepository;
+    private final MemberJpaRepository memberJpaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    public AsyncMemberRepository(MemberRepository memberRepository,
+                                 MemberJpaRepository memberJpaRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 DataSource dataSource,
+                                 @Value("${app.async.executor:auto}") String executorType) {
+        this.memberRepository = memberRepository;
+        this.memberJpaRepository = memberJpaRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxConcurrency = poolSize(dataSource);
+        this.permits = new Semaphore(maxConcurrency);
+        ExecutorService virtual = "platform".equals(executorType) ? null : newVirtualThreadExecutor();
+        if (virtual == null && "virtual".equals(executorType)) {
+            throw new IllegalStateException("virtual threads require Java 21+, running " + Runtime.version());
+        }
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformExecutor(maxConcurrency);
+        log.info("async member repository: executor={}, maxConcurrency={}",
+                virtualThreads ? "virtual" : "platform", maxConcurrency);
+    }
+
+    public CompletableFuture<Optional<Member>> findById(Long id) {
+        return supply(() -> memberJpaRepository.findById(id));
+    }
+
+    public CompletableFuture<List<Member>> findByUsername(String username) {
+        return supply(() -> memberRepository.findListByUsername(username));
+    }
+
+    public CompletableFuture<List<Member>> findByNames(List<String> names) {
+        return supply(() -> memberRepository.finByNames(names));
+    }
+
+    public CompletableFuture<Page<Member>> findPageByAge(int age, Pageable pageable) {
+        return supply(() -> memberJpaRepository.findPageByAge(age, pageable));
+    }
+
+    public CompletableFuture<KeysetPage<Member>> findByKeyset(int age, String cursor, int limit) {
+        return supply(() -> memberJpaRepository.findByKeyset(age, cursor, limit));
+    }
+
+    public CompletableFuture<List<MemberDto>> findMemberDto() {
+        return supply(memberRepository::findMemberDto);
+    }
+
+    public CompletableFuture<Long> count() {
+        return supply(memberJpaRepository::count);
+    }
+
+    /**
+     * 임의의 조회를 읽기 전용 트랜잭션 안에서 비동기 실행
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return readOnlyTransaction.execute(status -> query.get());
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("cannot unwrap HikariDataSource", e);
+        }
+        return 10; // Hikari 기본값
+    }
+
+    /**
+     * Java 17 로 컴파일하므로 리플렉션으로 호출 (Java 21+ 런타임에서만 성공)
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "async-member-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -1,11 +1,65 @@
 package com.example.jpa.repository.custom;
 
+import com.example.jpa.dto.MemberDto;
 import com.example.jpa.entity.Member;
+import com.example.jpa.repository.support.BatchLoadTeams;
+import com.example.jpa.repository.support.KeysetPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberCustomRepository {
 
+    /**
+     * 전체 회원 (읽기 전용 - 수정해도 update 되지 않음, 팀은 한 번에 조회)
+     */
+    @BatchLoadTeams
     List<Member> findMemberCustrom();
 
+    /**
+     * keyset 페이징 (Querydsl)
+     *   - username 이 null 인 회원은 제외
+     */
+    KeysetPage<Member> findByKeyset(int age, String cursor, int limit);
+
+    /**
+     * 페이징 (Querydsl) - 필요할 때만 count 쿼리, count 결과는 캐시
+     */
+    Page<Member> findPageByAge(int age, Pageable pageable);
+
+    /**
+     * 컬렉션 파라미터 바인딩
+     *   - 이름 목록을 chunk 로 나누고 2의 제곱수로 패딩해서 IN 조회 (InClauseExecutor)
+     *   - 트랜잭션 밖에서 chunk 가 여러 개면 병렬 조회, 결과는 준영속
+     */
+    List<Member> finByNames(List<String> names);
+
+    /**
+     * username 조회 (near 캐시)
+     *   - username -> id 는 캐시, 회원은 PK 로 조회
+     *   - 없는 username 도 캐시 (negative entry)
+     */
+    List<Member> findCachedByUsername(String username);
+
+    /**
+     * bulk update
+     *   - 벌크 연산은 엔티티 리스너를 거치지 않으므로 count 캐시를 직접 무효화
+     *   - 대용량 테이블은 MemberAgeBulkUpdater (member_id 범위별 분할 커밋)
+     */
+    int bulkAgePlus(int age);
+
+    /**
+     * 전체 회원 스트리밍 조회
+     *   - fetchSize 건마다 영속성 컨텍스트 clear
+     *   - 트랜잭션 안에서 try-with-resources 로 사용
+     */
+    Stream<Member> streamMembers(int fetchSize);
+
+    /**
+     * 전체 회원 DTO 스트리밍 조회
+     */
+    Stream<MemberDto> streamMemberDto(int fetchSize);
+
 }
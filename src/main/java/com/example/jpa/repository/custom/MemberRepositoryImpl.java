@@ -1,23 +1,159 @@
 package com.example.jpa.repository.custom;
 
+import com.example.jpa.dto.MemberDto;
+import com.example.jpa.dto.MemberDtoProjection;
+import com.example.jpa.querydsl.cache.CachingJPAQueryFactory;
+import com.example.jpa.querydsl.cache.QueryTemplateCache;
 import com.example.jpa.entity.Member;
+import com.example.jpa.repository.support.InClauseExecutor;
+import com.example.jpa.repository.support.KeysetPage;
+import com.example.jpa.repository.support.MemberCountCache;
+import com.example.jpa.repository.support.MemberCursor;
+import com.example.jpa.repository.support.MemberUsernameCache;
+import com.example.jpa.repository.support.ScrollingStream;
+import com.example.jpa.statistics.TeamStatisticsService;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static com.example.jpa.entity.QMember.member;
+import static com.example.jpa.entity.QTeam.team;
 
 public class MemberRepositoryImpl implements MemberCustomRepository {
 
     private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final Querydsl querydsl;
+    private final MemberCountCache countCache;
+    private final MemberUsernameCache usernameCache;
+    private final InClauseExecutor inClauseExecutor;
+    private final TeamStatisticsService teamStatisticsService;
 
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(EntityManager em, MemberCountCache countCache, MemberUsernameCache usernameCache,
+                                InClauseExecutor inClauseExecutor, TeamStatisticsService teamStatisticsService,
+                                ObjectProvider<QueryTemplateCache> queryTemplateCache) {
         this.em = em;
+        this.queryFactory = queryTemplateCache.stream()
+                .<JPAQueryFactory>map(cache -> new CachingJPAQueryFactory(em, cache))
+                .findFirst()
+                .orElseGet(() -> new JPAQueryFactory(em));
+        this.querydsl = new Querydsl(em, new PathBuilder<>(Member.class, member.getMetadata()));
+        this.countCache = countCache;
+        this.usernameCache = usernameCache;
+        this.inClauseExecutor = inClauseExecutor;
+        this.teamStatisticsService = teamStatisticsService;
     }
 
     @Override
     public List<Member> findMemberCustrom() {
         return  em.createQuery("select m from Member m")
+                .setHint(HibernateHints.HINT_READ_ONLY, true) // @ReadOnlyQuery 와 같은 힌트
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
                 .getResultList();
 
     }
 
+    @Override
+    public KeysetPage<Member> findByKeyset(int age, String cursor, int limit) {
+        KeysetPage.checkLimit(limit);
+        MemberCursor after = MemberCursor.decode(cursor);
+
+        // username 이 null 인 회원은 커서로 위치를 표현할 수 없으므로 제외
+        BooleanBuilder where = new BooleanBuilder(member.age.eq(age).and(member.username.isNotNull()));
+        if (after != null) {
+            where.and(member.username.lt(after.getUsername())
+                    .or(member.username.eq(after.getUsername()).and(member.id.lt(after.getId()))));
+        }
+
+        List<Member> result = queryFactory
+                .selectFrom(member)
+                .where(where)
+                .orderBy(member.username.desc(), member.id.desc())
+                .limit(limit + 1)
+                .fetch();
+        return KeysetPage.of(result, limit, m -> new MemberCursor(m.getUsername(), m.getId()).encode());
+    }
+
+    @Override
+    public Page<Member> findPageByAge(int age, Pageable pageable) {
+        JPAQuery<Member> query = queryFactory
+                .selectFrom(member)
+                .where(member.age.eq(age));
+        List<Member> content = querydsl.applyPagination(pageable, query).fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> countCache.get("age=" + age, () -> queryFactory
+                        .select(member.count())
+                        .from(member)
+                        .where(member.age.eq(age))
+                        .fetchOne()));
+    }
+
+    @Override
+    public List<Member> finByNames(List<String> names) {
+        return inClauseExecutor.findIn("select m from Member m where m.username in :values", Member.class, names);
+    }
+
+    @Override
+    public List<Member> findCachedByUsername(String username) {
+        List<Long> ids = usernameCache.get(username, () -> queryFactory
+                .select(member.id)
+                .from(member)
+                .where(member.username.eq(username))
+                .fetch());
+
+        return ids.stream()
+                .map(id -> em.find(Member.class, id))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age) {
+        teamStatisticsService.onAgePlus(age); // 나이가 바뀌기 전에 계산
+        int count = em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+                .setParameter("age", age)
+                .executeUpdate();
+        countCache.invalidateAllAfterCommit();
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Member> streamMembers(int fetchSize) {
+        Query<Member> query = queryFactory
+                .selectFrom(member)
+                .createQuery()
+                .unwrap(Query.class);
+        return ScrollingStream.of(query, fetchSize, fetchSize);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<MemberDto> streamMemberDto(int fetchSize) {
+        Query<MemberDto> query = queryFactory
+                .select(new MemberDtoProjection(member.id, member.username, team.name))
+                .from(member)
+                .join(member.team, team)
+                .createQuery()
+                .unwrap(Query.class);
+        return ScrollingStream.of(query, fetchSize, 0);
+    }
+
 }
@@ -1,19 +1,38 @@
 package com.example.jpa.repository.pure;
 
 import com.example.jpa.entity.Member;
+import com.example.jpa.repository.support.KeysetPage;
+import com.example.jpa.repository.support.MemberCountCache;
+import com.example.jpa.repository.support.MemberCursor;
+import com.example.jpa.repository.support.ScrollingStream;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true) // 조회는 replica 로 라우팅 (RoutingDataSourceConfig)
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final MemberCountCache countCache;
+
+    public MemberJpaRepository(MemberCountCache countCache) {
+        this.countCache = countCache;
+    }
+
+    @Transactional
     public Member save(Member member) {
         em.persist(member);
         return member;
@@ -23,6 +42,7 @@ public class MemberJpaRepository {
         return em.find(Member.class, id);
     }
 
+    @Transactional
     public void delete(Member member) {
         em.remove(member);
     }
@@ -32,6 +52,18 @@ public class MemberJpaRepository {
         return em.createQuery("select m from Member m", Member.class).getResultList();
     }
 
+    /**
+     * 전체 회원 스트리밍 조회
+     *   - forward-only 커서, fetchSize 건마다 영속성 컨텍스트 clear
+     *   - 트랜잭션 안에서 try-with-resources 로 사용
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Member> streamAll(int fetchSize) {
+        Query<Member> query = em.createQuery("select m from Member m", Member.class)
+                .unwrap(Query.class);
+        return ScrollingStream.of(query, fetchSize, fetchSize);
+    }
+
     public Optional<Member> findById(Long id) {
         return Optional.ofNullable(em.find(Member.class, id));
     }
@@ -58,4 +90,42 @@ public class MemberJpaRepository {
                 .getSingleResult();
     }
 
+    /**
+     * 페이징 + count 최적화
+     *   - 첫 페이지인데 content 가 size 보다 적거나, 마지막 페이지면 count 쿼리 생략
+     *   - 그 외에는 count 캐시 사용 (Member 변경 시 무효화)
+     */
+    public Page<Member> findPageByAge(int age, Pageable pageable) {
+        List<Member> content = findByPage(age, (int) pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> countCache.get("age=" + age, () -> totalCount(age)));
+    }
+
+    /**
+     * keyset 페이징
+     *   - 정렬 조건: 이름 내림차순, 같은 이름이면 id 내림차순
+     *   - cursor 가 없으면 첫 페이지, 있으면 해당 위치 다음부터 limit 건
+     *   - username 이 null 인 회원은 제외 (커서로 위치를 표현할 수 없음)
+     */
+    public KeysetPage<Member> findByKeyset(int age, String cursor, int limit) {
+        KeysetPage.checkLimit(limit);
+        MemberCursor after = MemberCursor.decode(cursor);
+        TypedQuery<Member> query;
+        if (after == null) {
+            query = em.createQuery("select m from Member m where m.age = :age and m.username is not null" +
+                    " order by m.username desc, m.id desc", Member.class);
+        } else {
+            query = em.createQuery("select m from Member m where m.age = :age and m.username is not null" +
+                            " and (m.username < :username or (m.username = :username and m.id < :id))" +
+                            " order by m.username desc, m.id desc", Member.class)
+                    .setParameter("username", after.getUsername())
+                    .setParameter("id", after.getId());
+        }
+        List<Member> result = query
+                .setParameter("age", age)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        return KeysetPage.of(result, limit, m -> new MemberCursor(m.getUsername(), m.getId()).encode());
+    }
+
 }
@@ -1,19 +1,33 @@
 package com.example.jpa.repository.pure;
 
+import com.example.jpa.dto.TeamWithMembersDto;
 import com.example.jpa.entity.Team;
+import com.example.jpa.repository.support.InClauseExecutor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true) // 조회는 replica 로 라우팅 (RoutingDataSourceConfig)
 public class TeamJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final InClauseExecutor inClauseExecutor;
+
+    public TeamJpaRepository(InClauseExecutor inClauseExecutor) {
+        this.inClauseExecutor = inClauseExecutor;
+    }
+
+    @Transactional
     public Team save(Team member) {
         em.persist(member);
         return member;
@@ -23,6 +37,7 @@ public class TeamJpaRepository {
         return em.find(Team.class, id);
     }
 
+    @Transactional
     public void delete(Team member) {
         em.remove(member);
     }
@@ -40,5 +55,25 @@ public class TeamJpaRepository {
         return em.createQuery("select count(t) from Team t", Long.class).getSingleResult();
     }
 
+    /**
+     * 팀 + 회원 페이징
+     *   - 컬렉션 fetch join 과 페이징을 같이 쓰면 메모리에서 페이징함 (HHH000104)
+     *   - 1. 팀 id 만 DB 에서 페이징 2. 해당 id 의 팀만 members fetch join
+     *   - 정렬 조건: 팀 id 오름차순
+     */
+    public Page<TeamWithMembersDto> findTeamsWithMembers(Pageable pageable) {
+        List<Long> ids = em.createQuery("select t.id from Team t order by t.id", Long.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<TeamWithMembersDto> content = inClauseExecutor.findIn(
+                        "select distinct t from Team t left join fetch t.members where t.id in :values order by t.id", Team.class, ids)
+                .stream()
+                .map(TeamWithMembersDto::new)
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, this::count);
+    }
 
 }
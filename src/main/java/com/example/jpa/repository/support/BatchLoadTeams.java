@@ -0,0 +1,18 @@
+package com.example.jpa.repository.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 조회 후 영속성 컨텍스트의 초기화 안 된 Member.team 프록시를 IN 쿼리로 한 번에 초기화 (리포지토리 메서드용)
+ *   - 메서드 실행 직후 트랜잭션 안에서 TeamBatchLoader 호출 (TeamBatchLoadingPostProcessor)
+ *   - 트랜잭션 / OSIV 밖에서 호출하면 결과가 준영속이므로 아무것도 하지 않음
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BatchLoadTeams {
+}
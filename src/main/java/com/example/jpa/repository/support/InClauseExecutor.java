@@ -0,0 +1,151 @@
+package com.example.jpa.repository.support;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IN 절 조회 실행기
+ *   - 파라미터 개수를 2의 제곱수로 패딩해서 쿼리 plan 종류를 줄임
+ *   - chunkSize 를 넘는 목록은 나눠서 조회 (DB 파라미터 개수 제한), 패딩도 chunkSize 를 넘지 않음
+ *   - 트랜잭션 밖이고 스레드에 묶인 EntityManager 도 없으면 chunk 들을 별도 커넥션(EntityManager)에서 동시에 조회 후 합침 -> 결과는 준영속
+ *   - 엔티티가 아닌 결과(DTO / 스칼라)는 영속성 컨텍스트와 무관하므로 OSIV 처럼 EntityManager 가 묶여 있어도 동시에 조회
+ *   - 그 외에는 현재 EntityManager 에서 순서대로 조회 -> 결과는 영속, 호출자의 지연 로딩 / 동일성 유지
+ *     (트랜잭션 안에서는 커밋 전 변경도 보여야 함)
+ *
+ * jpql 의 IN 파라미터 이름은 :values
+ */
+@Component
+public class InClauseExecutor {
+
+    public static final String PARAMETER = "values";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final EntityManagerFactory emf;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public InClauseExecutor(EntityManagerFactory emf,
+                            @Value("${app.in-clause.chunk-size:1024}") int chunkSize,
+                            @Value("${app.in-clause.parallelism:4}") int parallelism) {
+        this.emf = emf;
+        this.chunkSize = chunkSize;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "in-clause-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> List<T> findIn(String jpql, Class<T> resultType, Collection<?> values) {
+        List<List<Object>> chunks = chunk(new ArrayList<>(new LinkedHashSet<>(values)), chunkSize);
+        if (chunks.isEmpty()) {
+            return List.of();
+        }
+        if (chunks.size() == 1 || !parallel(resultType)) {
+            List<T> result = new ArrayList<>();
+            for (List<Object> chunk : chunks) {
+                result.addAll(query(em, jpql, resultType, chunk));
+            }
+            return result;
+        }
+
+        List<CompletableFuture<List<T>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> queryOnNewConnection(jpql, resultType, chunk), executor))
+                .toList();
+        List<T> result = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    /**
+     * 별도 커넥션에서 동시에 조회해도 되는지
+     */
+    private boolean parallel(Class<?> resultType) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.hasResource(emf) || !isEntity(resultType);
+    }
+
+    private boolean isEntity(Class<?> resultType) {
+        return emf.getMetamodel().getEntities().stream()
+                .anyMatch(entity -> entity.getJavaType().equals(resultType));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> List<T> queryOnNewConnection(String jpql, Class<T> resultType, List<Object> chunk) {
+        EntityManager chunkEm = emf.createEntityManager();
+        try {
+            return query(chunkEm, jpql, resultType, chunk);
+        } finally {
+            chunkEm.close();
+        }
+    }
+
+    private <T> List<T> query(EntityManager em, String jpql, Class<T> resultType, List<Object> chunk) {
+        return em.createQuery(jpql, resultType)
+                .setParameter(PARAMETER, pad(chunk, chunkSize))
+                .getResultList();
+    }
+
+    /**
+     * size 개씩 나눔 (마지막 chunk 는 더 작을 수 있음)
+     */
+    public static <T> List<List<T>> chunk(List<T> values, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += size) {
+            chunks.add(values.subList(from, Math.min(from + size, values.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 2의 제곱수 개수가 되도록 마지막 값을 반복해서 채움
+     */
+    public static <T> List<T> pad(List<T> values) {
+        return pad(values, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 2의 제곱수 개수가 되도록 마지막 값을 반복해서 채우되 max 개를 넘기지 않음
+     *   - max 가 2의 제곱수가 아니어도 chunk 크기(max)보다 많은 파라미터를 바인딩하지 않음
+     */
+    public static <T> List<T> pad(List<T> values, int max) {
+        int size = Math.max(values.size(), Math.min(nextPowerOfTwo(values.size()), max));
+        List<T> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        T last = values.get(values.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    public static int nextPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+}
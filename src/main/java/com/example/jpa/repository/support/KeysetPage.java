@@ -0,0 +1,52 @@
+package com.example.jpa.repository.support;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset(seek) 페이징 결과
+ *   - offset 없이 마지막 커서 다음부터 조회하므로 깊은 페이지도 첫 페이지와 비용이 같음
+ *   - nextCursor 가 null 이면 마지막 페이지
+ *   - nextCursor 는 이미 인코딩된 토큰 (커서 타입은 리포지토리가 정함, 예: MemberCursor)
+ */
+@Getter
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * 조회 전에 호출 (limit + 1 건을 조회하므로 0 이하면 다음 페이지를 판단할 수 없음)
+     */
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+    }
+
+    /**
+     * limit + 1 건을 조회한 결과로 다음 페이지 여부를 판단
+     *
+     * @param cursorOf 페이지 마지막 항목 -> 다음 페이지 커서 토큰
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        checkLimit(limit);
+        if (fetched.size() <= limit) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> content = fetched.subList(0, limit);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(limit - 1)));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.jpa.repository.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Member 페이징 total count 캐시
+ *   - 검색 조건(key)별로 count 결과를 TTL 동안 보관
+ *   - Member 테이블이 변경되면(save, delete, bulk update) 전체 무효화, 트랜잭션 안이면 커밋 후 한 번 더
+ */
+@Component
+public class MemberCountCache {
+
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public MemberCountCache(@Value("${app.count-cache.ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long get(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+        Entry entry = cache.get(key);
+        if (entry != null && now - entry.createdAt < ttlNanos) {
+            return entry.count;
+        }
+        long count = counter.getAsLong();
+        cache.put(key, new Entry(count, now));
+        return count;
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * 변경한 트랜잭션 안에서 호출
+     *   - 지금 비우고(같은 트랜잭션의 다음 조회는 변경된 count), 커밋 후 한 번 더 비움
+     *   - 커밋 전에 다른 트랜잭션이 옛 count 로 다시 채운 경우 TTL 동안 남지 않도록
+     *   - 트랜잭션당 한 번만 등록, 트랜잭션 밖이면 바로 무효화만
+     */
+    public void invalidateAllAfterCommit() {
+        invalidateAll();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.getSynchronizations().stream().anyMatch(InvalidateAfterCommit.class::isInstance)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new InvalidateAfterCommit());
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private record Entry(long count, long createdAt) {
+    }
+
+    private class InvalidateAfterCommit implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            invalidateAll();
+        }
+
+    }
+
+}
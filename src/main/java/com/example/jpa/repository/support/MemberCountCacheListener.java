@@ -0,0 +1,26 @@
+package com.example.jpa.repository.support;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Member 엔티티 변경 시 count 캐시 무효화 (flush 시점 + 커밋 후)
+ *   - 벌크 연산은 엔티티 리스너를 타지 않으므로 직접 invalidateAllAfterCommit() 호출 필요
+ */
+public class MemberCountCacheListener {
+
+    private final MemberCountCache countCache;
+
+    public MemberCountCacheListener(MemberCountCache countCache) {
+        this.countCache = countCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object member) {
+        countCache.invalidateAllAfterCommit();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.jpa.repository.support;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset 페이징 커서
+ *   - 마지막으로 조회한 (username, id) 위치
+ *   - 클라이언트에는 불투명한 토큰 문자열로 전달
+ *   - username 이 null 인 회원은 keyset 조회에서 제외하므로 커서에도 null 이 올 수 없음
+ *     (문자열 "null" 로 인코딩되면 다음 페이지가 username < 'null' 로 이미 본 행을 다시 조회)
+ */
+@Getter
+@ToString
+public class MemberCursor {
+
+    private final String username;
+    private final Long id;
+
+    public MemberCursor(String username, Long id) {
+        if (username == null || id == null) {
+            throw new IllegalArgumentException("username / id 가 없는 커서: " + username + ", " + id);
+        }
+        this.username = username;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = id + ":" + username;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 토큰이 없으면 null (첫 페이지)
+     */
+    public static MemberCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰: " + token, e);
+        }
+        int idx = raw.indexOf(':');
+        if (idx < 0) {
+            throw new IllegalArgumentException("잘못된 커서 토큰: " + token);
+        }
+        return new MemberCursor(raw.substring(idx + 1), Long.valueOf(raw.substring(0, idx)));
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.example.jpa.repository.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * username -> member id near 캐시
+ *   - username 은 유일하지 않으므로 id 목록을 보관, 빈 목록은 "없는 회원" (negative entry)
+ *   - negative entry 는 짧은 TTL 로 따로 관리
+ *   - 회원 저장 / 이름 변경 / 삭제 시 해당 username 무효화 (MemberUsernameCacheListener)
+ */
+@Component
+public class MemberUsernameCache {
+
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> usernameById = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maxSize;
+
+    public MemberUsernameCache(@Value("${app.username-cache.ttl:10m}") Duration ttl,
+                               @Value("${app.username-cache.negative-ttl:30s}") Duration negativeTtl,
+                               @Value("${app.username-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public List<Long> get(String username, Supplier<List<Long>> loader) {
+        long now = System.nanoTime();
+        Entry entry = cache.get(username);
+        if (entry != null && now - entry.createdAt < (entry.ids.isEmpty() ? negativeTtlNanos : ttlNanos)) {
+            return entry.ids;
+        }
+
+        long generation = invalidations.get();
+        List<Long> ids = List.copyOf(loader.get());
+        // 조회하는 사이 무효화가 있었다면 오래된 결과일 수 있으므로 캐시하지 않음
+        if (invalidations.get() == generation) {
+            if (cache.size() >= maxSize) {
+                clear();
+            }
+            cache.put(username, new Entry(ids, now));
+            ids.forEach(id -> usernameById.put(id, username));
+        }
+        return ids;
+    }
+
+    /**
+     * username 무효화 + 해당 회원이 예전에 캐시된 이름도 무효화 (이름 변경 대응)
+     */
+    public void invalidate(Long memberId, String username) {
+        invalidations.incrementAndGet();
+        if (memberId != null) {
+            String previous = usernameById.remove(memberId);
+            if (previous != null) {
+                cache.remove(previous);
+            }
+        }
+        if (username != null) {
+            cache.remove(username);
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        cache.clear();
+        usernameById.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private record Entry(List<Long> ids, long createdAt) {
+    }
+
+}
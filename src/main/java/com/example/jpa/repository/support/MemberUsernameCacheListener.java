@@ -0,0 +1,71 @@
+package com.example.jpa.repository.support;
+
+import com.example.jpa.entity.Member;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Member 저장 / 이름 변경 / 삭제 시 username 캐시 무효화
+ *   - flush 시점에 바로 무효화하고, 커밋 후 한 번 더 무효화
+ *     (커밋 전에 다른 트랜잭션이 옛 데이터로 다시 채운 경우 제거)
+ *   - 커밋 후 무효화는 트랜잭션당 synchronization 하나에 (id, username) 을 중복 없이 모아서 처리
+ */
+public class MemberUsernameCacheListener {
+
+    private final MemberUsernameCache usernameCache;
+
+    public MemberUsernameCacheListener(MemberUsernameCache usernameCache) {
+        this.usernameCache = usernameCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Member member) {
+        Long id = member.getId();
+        String username = member.getUsername();
+        usernameCache.invalidate(id, username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAfterCompletion().entries.add(new Entry(id, username));
+        }
+    }
+
+    private InvalidateAfterCompletion invalidateAfterCompletion() {
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(InvalidateAfterCompletion.class::isInstance)
+                .map(InvalidateAfterCompletion.class::cast)
+                .filter(sync -> sync.owner() == this)
+                .findFirst()
+                .orElseGet(() -> {
+                    InvalidateAfterCompletion sync = new InvalidateAfterCompletion();
+                    TransactionSynchronizationManager.registerSynchronization(sync);
+                    return sync;
+                });
+    }
+
+    private record Entry(Long id, String username) {
+    }
+
+    private class InvalidateAfterCompletion implements TransactionSynchronization {
+
+        private final Set<Entry> entries = new LinkedHashSet<>();
+
+        private MemberUsernameCacheListener owner() {
+            return MemberUsernameCacheListener.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            entries.forEach(entry -> usernameCache.invalidate(entry.id(), entry.username()));
+        }
+
+    }
+
+}
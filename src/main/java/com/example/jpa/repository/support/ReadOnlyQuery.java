@@ -0,0 +1,28 @@
+package com.example.jpa.repository.support;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 읽기 전용 조회 (Spring Data 쿼리 메서드용)
+ *   - 조회한 엔티티(fetch join / 엔티티 그래프로 같이 읽은 연관 엔티티 포함)는 스냅샷을 만들지 않음 -> flush 때 dirty checking 대상에서 빠짐
+ *   - 쿼리 실행 전 자동 flush 안 함 (flush mode MANUAL)
+ *   - 반환된 엔티티를 수정해도 update 되지 않음
+ *   - 직접 만든 쿼리(MemberRepositoryImpl 등)는 HibernateHints 를 setHint 로 지정
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+})
+public @interface ReadOnlyQuery {
+}
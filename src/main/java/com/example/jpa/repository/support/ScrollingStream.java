@@ -0,0 +1,60 @@
+package com.example.jpa.repository.support;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * forward-only 커서 기반 Stream
+ *   - JDBC fetch size 만큼씩 DB 에서 읽어옴
+ *   - clearInterval 건마다 스트림이 읽어온 엔티티만 준영속으로 만들어 메모리 사용량을 일정하게 유지
+ *     (이전에 받은 엔티티는 지연 로딩 불가, 처리 중 지연 로딩한 연관 엔티티는 영속성 컨텍스트에 남음)
+ *   - session.clear() 를 쓰지 않음 -> 호출한 쪽이 이미 들고 있는 엔티티 / flush 전 변경은 그대로
+ *     (스트림이 읽기 전부터 영속 상태였던 엔티티는 읽기 전용이 아니므로 분리하지 않음)
+ *   - 트랜잭션 안에서 try-with-resources 로 사용해야 커서가 닫힘
+ */
+public final class ScrollingStream {
+
+    private ScrollingStream() {
+    }
+
+    public static <T> Stream<T> of(Query<T> query, int fetchSize, int clearInterval) {
+        Session session = (Session) query.getSession();
+        ScrollableResults<T> scroll = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final List<T> loaded = new ArrayList<>();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (clearInterval > 0 && loaded.size() >= clearInterval) {
+                    loaded.forEach(session::evict);
+                    loaded.clear();
+                }
+                if (!scroll.next()) {
+                    return false;
+                }
+                T row = scroll.get();
+                if (clearInterval > 0 && session.isReadOnly(row)) {
+                    loaded.add(row);
+                }
+                action.accept(row);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(scroll::close);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.jpa.repository.support;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Member.team 지연 로딩 N+1 해결
+ *   - 영속성 컨텍스트에 있는 Member 중 team 이 초기화 안 된 프록시인 것의 팀 id 를 모아서 IN 쿼리로 한 번에 조회
+ *   - 배치 크기는 실제 id 개수(2의 제곱수로 올림)에 맞추고 maxBatchSize 를 넘으면 나눠서 조회
+ *   - IN 파라미터 개수를 2의 제곱수로 패딩해서 쿼리 plan 종류를 줄임 (InClauseExecutor.pad, maxBatchSize 를 넘지 않음)
+ *   - 조회 결과가 현재 영속성 컨텍스트에 들어와야 하므로 InClauseExecutor 의 병렬 조회는 쓰지 않음
+ *   - 스레드에 묶인 EntityManager(트랜잭션, OSIV)가 없으면 결과가 이미 준영속이므로 아무것도 하지 않음
+ *   - 팀을 가리키는 회원이 모두 읽기 전용이면 팀도 읽기 전용으로 조회 (@ReadOnlyQuery 결과의 팀도 읽기 전용 유지)
+ *   - 사용: 리포지토리 메서드에 @BatchLoadTeams
+ */
+@Component
+public class TeamBatchLoader {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final EntityManagerFactory emf;
+    private final int maxBatchSize;
+
+    public TeamBatchLoader(EntityManagerFactory emf, @Value("${app.batch-fetch.max-size:256}") int maxBatchSize) {
+        this.emf = emf;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return 조회 쿼리 실행 횟수
+     */
+    public int loadPendingTeams() {
+        if (!TransactionSynchronizationManager.hasResource(emf)) {
+            return 0;
+        }
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        Set<Object> ids = new LinkedHashSet<>();
+        List<Team> proxies = new ArrayList<>();
+        boolean readOnly = true;
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (entry.getKey() instanceof Member member) {
+                Team team = member.getTeam();
+                if (team != null && !Hibernate.isInitialized(team)) {
+                    ids.add(HibernateProxy.extractLazyInitializer(team).getIdentifier());
+                    proxies.add(team);
+                    readOnly &= entry.getValue().isReadOnly();
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int batchSize = Math.min(maxBatchSize, InClauseExecutor.nextPowerOfTwo(ids.size()));
+        List<List<Object>> chunks = InClauseExecutor.chunk(new ArrayList<>(ids), batchSize);
+        for (List<Object> chunk : chunks) {
+            em.createQuery("select t from Team t where t.id in :ids", Team.class)
+                    .setParameter("ids", InClauseExecutor.pad(chunk, maxBatchSize))
+                    .setHint(HibernateHints.HINT_READ_ONLY, readOnly)
+                    .getResultList();
+        }
+
+        // 엔티티가 이미 영속성 컨텍스트에 있으므로 추가 쿼리 없이 프록시 초기화
+        proxies.forEach(Hibernate::initialize);
+        return chunks.size();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.jpa.repository.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Data 리포지토리의 @BatchLoadTeams 메서드에 TeamBatchLoader 호출을 붙임
+ *   - 리포지토리 프록시의 트랜잭션 advice 뒤에 추가 -> 같은 트랜잭션(영속성 컨텍스트) 안에서 실행
+ */
+@Component
+public class TeamBatchLoadingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<TeamBatchLoader> teamBatchLoader;
+
+    public TeamBatchLoadingPostProcessor(ObjectProvider<TeamBatchLoader> teamBatchLoader) {
+        this.teamBatchLoader = teamBatchLoader;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            MethodInterceptor interceptor = new LoadTeamsInterceptor(teamBatchLoader);
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repository) -> proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+                            AnnotationMatchingPointcut.forMethodAnnotation(BatchLoadTeams.class), interceptor))));
+        }
+        return bean;
+    }
+
+    private record LoadTeamsInterceptor(ObjectProvider<TeamBatchLoader> teamBatchLoader) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            teamBatchLoader.getObject().loadPendingTeams();
+            return result;
+        }
+    }
+
+}
@@ -1,7 +1,50 @@
 package com.example.jpa.repository;
 
+import com.example.jpa.dto.TeamWithMembersDto;
 import com.example.jpa.entity.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface teamRepository extends JpaRepository<Team, Long> {
+
+    /**
+     * 팀 id 페이징 (정렬 조건은 pageable 로 전달)
+     */
+    @Query("select t.id from Team t")
+    Page<Long> findTeamIds(Pageable pageable);
+
+    @Query("select distinct t from Team t left join fetch t.members where t.id in :ids")
+    List<Team> findWithMembersByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 팀 + 회원 페이징
+     *   - 1. 팀 id 만 DB 에서 페이징 2. 해당 id 의 팀만 members fetch join
+     *   - 두 조회 사이에 삭제된 팀은 결과에서 빠짐 (전체 개수는 id 페이징 기준)
+     */
+    default Page<TeamWithMembersDto> findTeamsWithMembers(Pageable pageable) {
+        Page<Long> ids = findTeamIds(pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, Team> teams = findWithMembersByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        List<TeamWithMembersDto> content = ids.getContent().stream()
+                .map(teams::get)
+                .filter(Objects::nonNull)
+                .map(TeamWithMembersDto::new)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
 }
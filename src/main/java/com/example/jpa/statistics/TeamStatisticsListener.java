@@ -0,0 +1,244 @@
+package com.example.jpa.statistics;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member insert / update(나이, 팀 변경) / delete 를 팀별 증감분으로 모았다가 커밋 직전에 team_statistics 에 반영
+ *   - 세션(트랜잭션)마다 증감분을 모아서 팀당 update 한 번
+ *   - flush 가 끝난 뒤(beforeTransactionCompletion) 같은 트랜잭션 안에서 실행 -> 롤백되면 같이 롤백
+ *   - 집계 행이 없는 팀은 member 테이블에서 바로 계산해서 insert
+ *   - 그 사이 다른 트랜잭션이 먼저 insert 했으면(중복 키) 그 행에 증감분을 다시 update
+ *   - 벌크 연산은 이벤트를 타지 않음 -> TeamStatisticsService.onAgePlus
+ */
+@Slf4j
+@Component
+public class TeamStatisticsListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String UPDATE = """
+            update team_statistics set
+                member_count = member_count + ?,
+                age_sum = age_sum + ?,
+                stale = case when stale or min_age >= ? or max_age <= ? then true else false end,
+                min_age = case when min_age is null or ? < min_age then ? else min_age end,
+                max_age = case when max_age is null or ? > max_age then ? else max_age end,
+                version = version + 1
+            where team_id = ?""";
+
+    private static final String INSERT = """
+            insert into team_statistics (team_id, member_count, age_sum, min_age, max_age, stale, version)
+            select ?, count(*), coalesce(sum(age), 0), min(age), max(age), false, 0
+            from member where team_id = ?""";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final Map<SharedSessionContractImplementor, Map<Long, Delta>> pending = new ConcurrentHashMap<>();
+
+    public TeamStatisticsListener(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            delta(event.getSession(), teamId(member.getTeam())).add(member.getAge());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member member) || event.getOldState() == null) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Object[] oldState = event.getOldState();
+        Long oldTeamId = teamId((Team) oldState[persister.getEntityMetamodel().getPropertyIndex("team")]);
+        int oldAge = (int) oldState[persister.getEntityMetamodel().getPropertyIndex("age")];
+        Long newTeamId = teamId(member.getTeam());
+        if (oldAge == member.getAge() && Objects.equals(oldTeamId, newTeamId)) {
+            return;
+        }
+        delta(event.getSession(), oldTeamId).remove(oldAge);
+        delta(event.getSession(), newTeamId).add(member.getAge());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            EntityPersister persister = event.getPersister();
+            Object[] state = event.getDeletedState();
+            Long teamId = teamId((Team) state[persister.getEntityMetamodel().getPropertyIndex("team")]);
+            int age = (int) state[persister.getEntityMetamodel().getPropertyIndex("age")];
+            delta(event.getSession(), teamId).remove(age);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private Delta delta(EventSource session, Long teamId) {
+        if (teamId == null) {
+            return Delta.IGNORED; // 팀 없는 회원
+        }
+        Map<Long, Delta> deltas = pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::apply);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, ss) -> pending.remove(ss));
+            return new HashMap<>();
+        });
+        return deltas.computeIfAbsent(teamId, id -> new Delta());
+    }
+
+    private void apply(SessionImplementor session) {
+        Map<Long, Delta> deltas = pending.remove(session);
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                for (Map.Entry<Long, Delta> entry : deltas.entrySet()) {
+                    if (entry.getValue().isEmpty()) {
+                        continue;
+                    }
+                    bind(update, entry.getKey(), entry.getValue());
+                    if (update.executeUpdate() == 0 && !insert(connection, entry.getKey())
+                            && update.executeUpdate() == 0) {
+                        throw new IllegalStateException("team_statistics not updated: teamId=" + entry.getKey());
+                    }
+                }
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement update, Long teamId, Delta delta) throws SQLException {
+        update.setLong(1, delta.count);
+        update.setLong(2, delta.sum);
+        setInteger(update, 3, delta.removedMin);
+        setInteger(update, 4, delta.removedMax);
+        setInteger(update, 5, delta.addedMin);
+        setInteger(update, 6, delta.addedMin);
+        setInteger(update, 7, delta.addedMax);
+        setInteger(update, 8, delta.addedMax);
+        update.setLong(9, teamId);
+    }
+
+    /**
+     * @return false 면 다른 트랜잭션이 먼저 insert (중복 키)
+     *   - savepoint 로 되돌려서 트랜잭션은 계속 사용 가능 (PostgreSQL 은 오류 후 트랜잭션 전체가 실패 상태)
+     */
+    private static boolean insert(Connection connection, Long teamId) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            insert.setLong(1, teamId);
+            insert.setLong(2, teamId);
+            insert.executeUpdate();
+            connection.releaseSavepoint(savepoint);
+            return true;
+        } catch (SQLException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            connection.rollback(savepoint);
+            log.debug("team_statistics already inserted: teamId={}", teamId);
+            return false;
+        }
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException || "23505".equals(e.getSQLState());
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+
+    private static Long teamId(Team team) {
+        return team == null ? null : team.getId(); // 프록시여도 초기화하지 않음
+    }
+
+    /**
+     * 한 팀의 증감분
+     *   - added*: 들어온 회원 나이 범위 (min/max 갱신용)
+     *   - removed*: 빠진 회원 나이 범위 (기존 min/max 에 해당하면 stale)
+     */
+    static class Delta {
+
+        static final Delta IGNORED = new Delta() {
+            @Override
+            void add(int age) {
+            }
+
+            @Override
+            void remove(int age) {
+            }
+        };
+
+        long count;
+        long sum;
+        Integer addedMin;
+        Integer addedMax;
+        Integer removedMin;
+        Integer removedMax;
+
+        void add(int age) {
+            count++;
+            sum += age;
+            addedMin = addedMin == null ? age : Math.min(addedMin, age);
+            addedMax = addedMax == null ? age : Math.max(addedMax, age);
+        }
+
+        void remove(int age) {
+            count--;
+            sum -= age;
+            removedMin = removedMin == null ? age : Math.min(removedMin, age);
+            removedMax = removedMax == null ? age : Math.max(removedMax, age);
+        }
+
+        boolean isEmpty() {
+            return addedMin == null && removedMin == null;
+        }
+    }
+
+}
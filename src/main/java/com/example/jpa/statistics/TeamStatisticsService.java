@@ -0,0 +1,144 @@
+package com.example.jpa.statistics;
+
+import com.example.jpa.dto.TeamStatisticsDto;
+import com.example.jpa.entity.TeamStatistics;
+import com.example.jpa.repository.TeamStatisticsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 팀별 나이 통계 조회 / 보정
+ *   - 조회: team_statistics 에서 팀 수만큼만 읽음 (member group by 없음), stale 인 팀만 min/max 다시 계산
+ *   - 벌크 나이 변경: 같은 트랜잭션에서 벌크 update 전에 호출
+ *   - reconcile: 주기적으로 member 테이블과 비교해서 차이를 보정
+ */
+@Slf4j
+@Service
+@Transactional
+public class TeamStatisticsService {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final TeamStatisticsRepository teamStatisticsRepository;
+
+    public TeamStatisticsService(TeamStatisticsRepository teamStatisticsRepository) {
+        this.teamStatisticsRepository = teamStatisticsRepository;
+    }
+
+    /**
+     * 팀 이름순 통계
+     */
+    public List<TeamStatisticsDto> findAll() {
+        List<Object[]> rows = em.createQuery(
+                        "select s, t.name from TeamStatistics s join Team t on t.id = s.teamId order by t.name", Object[].class)
+                .getResultList();
+        List<TeamStatisticsDto> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            TeamStatistics statistics = (TeamStatistics) row[0];
+            if (statistics.isStale()) {
+                refresh(statistics);
+            }
+            result.add(new TeamStatisticsDto(statistics, (String) row[1]));
+        }
+        return result;
+    }
+
+    /**
+     * bulkAgePlus 보정 - age 이상인 회원이 모두 + 1 되므로 update 전에 계산
+     *   - sum: 해당 회원 수만큼 증가
+     *   - min/max: age 이상이면 + 1 (min 이 age 이상이면 팀 전원이 대상)
+     */
+    public void onAgePlus(int age) {
+        em.createQuery("""
+                        update TeamStatistics s set
+                            s.ageSum = s.ageSum + (select count(m) from Member m where m.team.id = s.teamId and m.age >= :age),
+                            s.minAge = case when s.minAge >= :age then s.minAge + 1 else s.minAge end,
+                            s.maxAge = case when s.maxAge >= :age then s.maxAge + 1 else s.maxAge end,
+                            s.version = s.version + 1""")
+                .setParameter("age", age)
+                .executeUpdate();
+    }
+
+    /**
+     * member_id 범위 하나만 bulkAgePlus 할 때 (MemberAgeBulkUpdater chunk)
+     *   - sum 은 정확히 보정, 범위 밖 회원이 남아있으므로 min/max 는 stale
+     */
+    public void onAgePlus(int age, long fromId, long toId) {
+        em.createQuery("""
+                        update TeamStatistics s set
+                            s.ageSum = s.ageSum + (select count(m) from Member m where m.team.id = s.teamId
+                                and m.age >= :age and m.id between :fromId and :toId),
+                            s.stale = true,
+                            s.version = s.version + 1
+                        where s.teamId in (select m.team.id from Member m
+                                where m.age >= :age and m.id between :fromId and :toId)""")
+                .setParameter("age", age)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .executeUpdate();
+    }
+
+    /**
+     * member 테이블 기준으로 다시 계산해서 다른 팀만 고침
+     *
+     * @return 보정한 팀 수
+     */
+    @Scheduled(fixedDelayString = "${app.team-statistics.reconcile-interval:PT10M}",
+            initialDelayString = "${app.team-statistics.reconcile-interval:PT10M}")
+    public int reconcile() {
+        Map<Long, TeamStatistics> existing = teamStatisticsRepository.findAll().stream()
+                .collect(Collectors.toMap(TeamStatistics::getTeamId, Function.identity()));
+        List<Object[]> actual = em.createQuery("""
+                        select t.id, count(m), coalesce(sum(m.age), 0), min(m.age), max(m.age)
+                        from Team t left join t.members m
+                        group by t.id""", Object[].class)
+                .getResultList();
+
+        int drift = 0;
+        for (Object[] row : actual) {
+            Long teamId = (Long) row[0];
+            long count = ((Number) row[1]).longValue();
+            long sum = ((Number) row[2]).longValue();
+            Integer min = (Integer) row[3];
+            Integer max = (Integer) row[4];
+
+            TeamStatistics statistics = existing.remove(teamId);
+            if (statistics == null) {
+                em.persist(new TeamStatistics(teamId, count, sum, min, max));
+                drift++;
+            } else if (statistics.reset(count, sum, min, max)) {
+                drift++;
+            }
+        }
+        // 삭제된 팀
+        drift += existing.size();
+        existing.values().forEach(em::remove);
+
+        if (drift > 0) {
+            log.warn("team statistics reconciled: {} team(s) corrected", drift);
+        }
+        return drift;
+    }
+
+    private void refresh(TeamStatistics statistics) {
+        Object[] actual = em.createQuery(
+                        "select count(m), coalesce(sum(m.age), 0), min(m.age), max(m.age) from Member m where m.team.id = :teamId",
+                        Object[].class)
+                .setParameter("teamId", statistics.getTeamId())
+                .getSingleResult();
+        statistics.reset(((Number) actual[0]).longValue(), ((Number) actual[1]).longValue(),
+                (Integer) actual[2], (Integer) actual[3]);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.jpa.batch;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * chunk 마다 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리
+ */
+@SpringBootTest
+class MemberAgeBulkUpdaterTest {
+
+    static final int AGE = 900; // 다른 테스트 데이터와 겹치지 않는 나이
+    static final int MEMBERS = 100;
+
+    @Autowired
+    MemberAgeBulkUpdater updater;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    List<Long> ids;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+        ids = tx.execute(status -> {
+            List<Long> saved = new ArrayList<>();
+            for (int i = 0; i < MEMBERS; i++) {
+                saved.add(memberRepository.save(new Member("bulkMember" + i, AGE)).getId());
+            }
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void after() {
+        tx.executeWithoutResult(status -> memberRepository.deleteAll(memberRepository.findAllById(ids)));
+    }
+
+    @Test
+    public void updatesEveryChunk() {
+        List<BulkUpdateProgress> progress = new CopyOnWriteArrayList<>();
+
+        BulkUpdateCheckpoint checkpoint = updater.plusAge(AGE, new BulkUpdateCheckpoint(10), progress::add);
+
+        assertThat(checkpoint.isDone()).isTrue();
+        assertThat(checkpoint.getTotalChunks()).isGreaterThan(1);
+        assertThat(checkpoint.getUpdatedRows()).isEqualTo(MEMBERS);
+        assertThat(progress).hasSize((int) checkpoint.getTotalChunks());
+        assertThat(progress).extracting(BulkUpdateProgress::completedChunks).contains(checkpoint.getTotalChunks());
+        assertThat(ages()).containsOnly(AGE + 1);
+    }
+
+    /**
+     * age + 1 이 INTEGER 범위를 넘는 회원이 있으면 해당 chunk 만 실패,
+     * 데이터를 고치고 같은 checkpoint 로 다시 실행하면 나머지만 한 번씩 반영
+     */
+    @Test
+    public void resumesAfterFailure() {
+        Long broken = ids.get(MEMBERS / 2);
+        setAge(broken, Integer.MAX_VALUE);
+        BulkUpdateCheckpoint checkpoint = new BulkUpdateCheckpoint(10);
+
+        assertThatThrownBy(() -> updater.plusAge(AGE, checkpoint, p -> {
+        }))
+                .isInstanceOf(BulkUpdateException.class)
+                .extracting(e -> ((BulkUpdateException) e).getCheckpoint()).isSameAs(checkpoint);
+        assertThat(checkpoint.isDone()).isFalse();
+
+        setAge(broken, AGE);
+        updater.plusAge(AGE, checkpoint, p -> {
+        });
+
+        assertThat(checkpoint.isDone()).isTrue();
+        assertThat(ages()).containsOnly(AGE + 1);
+    }
+
+    @Test
+    public void refusesToRunInsideTransaction() {
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> updater.plusAge(AGE)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Integer> ages() {
+        return tx.execute(status -> memberRepository.findAllById(ids).stream().map(Member::getAge).toList());
+    }
+
+    private void setAge(Long id, int age) {
+        tx.executeWithoutResult(status -> memberRepository.findById(id).orElseThrow().setAge(age));
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.example.jpa.batch;
+
+import com.example.jpa.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 배치마다 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리
+ */
+@SpringBootTest
+class MemberBulkImporterTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberBulkImporter importer;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dir;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void after() {
+        tx.executeWithoutResult(status -> {
+            List<Long> teamIds = em.createQuery("select t.id from Team t where t.name like 'csvTeam%' or t.name like 'jsonTeam%'", Long.class)
+                    .getResultList();
+            em.createQuery("delete from Member m where m.username like 'csv%' or m.username like 'json%'").executeUpdate();
+            em.createQuery("delete from TeamStatistics s where s.teamId in :ids").setParameter("ids", teamIds).executeUpdate();
+            em.createQuery("delete from Team t where t.id in :ids").setParameter("ids", teamIds).executeUpdate();
+        });
+    }
+
+    @Test
+    public void importCsv() throws IOException {
+        Path file = dir.resolve("members.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("username,age,teamName\n");
+            for (int i = 0; i < 2_500; i++) {
+                writer.write("csv" + i + "," + (i % 50) + ",csvTeam" + (i % 7) + "\n");
+            }
+            writer.write("csvNoTeam,1,\n");
+        }
+
+        ImportResult result = importer.importCsv(file);
+
+        assertThat(result.getRows()).isEqualTo(2_501);
+        assertThat(result.getBatches()).isEqualTo(3);
+        assertThat(count("select count(m) from Member m where m.username like 'csv%'")).isEqualTo(2_501);
+        assertThat(count("select count(t) from Team t where t.name like 'csvTeam%'")).isEqualTo(7);
+
+        Member member = tx.execute(status -> em.createQuery("select m from Member m join fetch m.team where m.username = 'csv8'", Member.class)
+                .getSingleResult());
+        assertThat(member.getAge()).isEqualTo(8);
+        assertThat(member.getTeam().getName()).isEqualTo("csvTeam1");
+    }
+
+    @Test
+    public void importNdjson() throws IOException {
+        Path file = dir.resolve("members.ndjson");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 1_200; i++) {
+                writer.write("{\"username\":\"json" + i + "\",\"age\":" + (i % 30) + ",\"teamName\":\"jsonTeam" + (i % 3) + "\"}\n");
+            }
+        }
+
+        ImportResult result = importer.importNdjson(file);
+
+        assertThat(result.getRows()).isEqualTo(1_200);
+        assertThat(result.getRowsPerSecond()).isPositive();
+        assertThat(count("select count(m) from Member m where m.team.name like 'jsonTeam%'")).isEqualTo(1_200);
+        assertThat(count("select count(t) from Team t where t.name like 'jsonTeam%'")).isEqualTo(3);
+    }
+
+    /**
+     * 잘못된 줄에서 줄 번호와 함께 실패, 그 전 배치는 이미 커밋됨
+     */
+    @Test
+    public void badLineReportsLineNumberAndKeepsCommittedBatches() throws IOException {
+        Path file = dir.resolve("broken.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("username,age,teamName\n");
+            for (int i = 0; i < 1_500; i++) {
+                writer.write("csv" + i + "," + (i % 50) + ",csvTeam\n");
+            }
+            writer.write("csvBroken,abc,csvTeam\n");
+        }
+
+        assertThatThrownBy(() -> importer.importCsv(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("broken.csv:1502");
+        assertThat(count("select count(m) from Member m where m.username like 'csv%'")).isEqualTo(1_000);
+    }
+
+    @Test
+    public void refusesToRunInsideTransaction() {
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> importer.importCsv(dir.resolve("none.csv"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private long count(String jpql) {
+        return tx.execute(status -> em.createQuery(jpql, Long.class).getSingleResult());
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.example.jpa.cache;
+
+import com.example.jpa.SpringDataJpaWithQuerydslApplication;
+import com.example.jpa.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 DB 를 바라보는 두 노드(ApplicationContext)로 2차 캐시 hit / miss 와 노드 간 정합성 확인
+ */
+class TeamSecondLevelCacheTest {
+
+    static final String DB_URL = "jdbc:h2:mem:cache-coherence;DB_CLOSE_DELAY=-1";
+
+    static ConfigurableApplicationContext nodeA;
+    static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void start() {
+        nodeA = start("create", "application.conf");
+        nodeB = start("none", "jcache-node-b.conf"); // 스키마는 nodeA 가 생성
+    }
+
+    @AfterAll
+    static void stop() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    public void secondLookupHitsCache() {
+        Long teamId = inTx(nodeA, em -> {
+            Team team = new Team("cachedTeam");
+            em.persist(team);
+            return team.getId();
+        });
+        sessionFactory(nodeA).getCache().evictEntityData(Team.class);
+        Statistics statistics = sessionFactory(nodeA).getStatistics();
+        statistics.clear();
+
+        teamName(nodeA, teamId);
+        long statementsAfterMiss = statistics.getPrepareStatementCount();
+        teamName(nodeA, teamId);
+
+        SecondLevelCacheStatistics.RegionStats stats =
+                nodeA.getBean(SecondLevelCacheStatistics.class).region("team");
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.puts()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+        // 두 번째 조회는 DB 를 타지 않음
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterMiss).isEqualTo(1);
+    }
+
+    @Test
+    public void otherNodeSeesRenameAndDelete() {
+        Long teamId = inTx(nodeA, em -> {
+            Team team = new Team("beforeRename");
+            em.persist(team);
+            return team.getId();
+        });
+        // 양쪽 노드 캐시 적재
+        assertThat(teamName(nodeA, teamId)).isEqualTo("beforeRename");
+        assertThat(teamName(nodeB, teamId)).isEqualTo("beforeRename");
+        assertThat(sessionFactory(nodeA).getCache().containsEntity(Team.class, teamId)).isTrue();
+
+        inTx(nodeB, em -> {
+            em.find(Team.class, teamId).setName("afterRename");
+            return null;
+        });
+
+        assertThat(sessionFactory(nodeA).getCache().containsEntity(Team.class, teamId)).isFalse();
+        assertThat(teamName(nodeA, teamId)).isEqualTo("afterRename");
+
+        inTx(nodeB, em -> {
+            em.remove(em.find(Team.class, teamId));
+            return null;
+        });
+
+        assertThat(teamName(nodeA, teamId)).isNull();
+    }
+
+    private static ConfigurableApplicationContext start(String ddlAuto, String cacheUri) {
+        return new SpringApplicationBuilder(SpringDataJpaWithQuerydslApplication.class)
+                .run("--spring.datasource.url=" + DB_URL,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.properties.hibernate.javax.cache.uri=" + cacheUri,
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.main.web-application-type=none",
+                        "--spring.jmx.enabled=false");
+    }
+
+    private static String teamName(ConfigurableApplicationContext node, Long teamId) {
+        return inTx(node, em -> {
+            Team team = em.find(Team.class, teamId);
+            return team == null ? null : team.getName();
+        });
+    }
+
+    private static SessionFactory sessionFactory(ConfigurableApplicationContext node) {
+        return node.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+    }
+
+    private static <T> T inTx(ConfigurableApplicationContext node, Function<EntityManager, T> work) {
+        EntityManager em = node.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+
+}
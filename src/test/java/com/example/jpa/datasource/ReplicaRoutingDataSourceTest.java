@@ -0,0 +1,179 @@
+package com.example.jpa.datasource;
+
+import com.example.jpa.SpringDataJpaWithQuerydslApplication;
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary / replica 를 각각 H2 메모리 DB 로 띄워서 라우팅 확인
+ *   - replica 는 복제가 없으므로 스키마와 데이터를 따로 넣고, 어느 DB 에서 읽었는지 username 으로 구분
+ */
+class ReplicaRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    static final long STICKY_WINDOW_MILLIS = 300;
+
+    static ConfigurableApplicationContext context;
+
+    MemberRepository memberRepository;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate readOnlyTx;
+    TransactionTemplate tx;
+
+    @BeforeAll
+    static void start() {
+        ConfigurableApplicationContext replica = run(REPLICA_URL, "--app.datasource.routing.enabled=false");
+        replica.getBean(MemberRepository.class).save(new Member("replicaMember", 10));
+        replica.close();
+
+        context = run(PRIMARY_URL,
+                "--app.datasource.routing.enabled=true",
+                "--app.datasource.routing.sticky-window=" + STICKY_WINDOW_MILLIS + "ms",
+                "--app.datasource.routing.replicas[0].url=" + REPLICA_URL,
+                "--app.datasource.routing.replicas[0].username=sa");
+        context.getBean(MemberRepository.class).save(new Member("primaryMember", 10));
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @BeforeEach
+    void before() {
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        tx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        context.getBean(PrimaryStickiness.class).clear();
+    }
+
+    @Test
+    public void readOnlyTransactionUsesReplica() {
+        assertThat(usernames(readOnlyTx)).containsExactly("replicaMember");
+        // SimpleJpaRepository, 순수 JPA 리포지토리의 조회 메서드도 readOnly
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername).containsExactly("replicaMember");
+        assertThat(memberJpaRepository.findAll()).extracting(Member::getUsername).containsExactly("replicaMember");
+    }
+
+    @Test
+    public void writeTransactionUsesPrimary() {
+        assertThat(usernames(tx)).contains("primaryMember").doesNotContain("replicaMember");
+    }
+
+    @Test
+    public void bulkUpdateGoesToPrimary() {
+        JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class));
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        String ageQuery = "select age from member where username = ?";
+        Integer before = primary.queryForObject(ageQuery, Integer.class, "primaryMember");
+
+        memberRepository.bulkAgePlus(0);
+
+        assertThat(primary.queryForObject(ageQuery, Integer.class, "primaryMember")).isEqualTo(before + 1);
+        assertThat(replica.queryForObject(ageQuery, Integer.class, "replicaMember")).isEqualTo(10);
+    }
+
+    @Test
+    public void readAfterWriteSticksToPrimaryForSameClient() throws InterruptedException {
+        Member written = inRequest("client-1", () -> memberRepository.save(new Member("writtenMember", 20)));
+
+        assertThat(inRequest("client-1", () -> usernames(readOnlyTx))).contains("writtenMember");
+        // 다른 클라이언트는 replica
+        assertThat(inRequest("client-2", () -> usernames(readOnlyTx))).containsExactly("replicaMember");
+
+        Thread.sleep(STICKY_WINDOW_MILLIS + 100);
+        assertThat(inRequest("client-1", () -> usernames(readOnlyTx))).containsExactly("replicaMember");
+
+        memberRepository.delete(written);
+    }
+
+    @Test
+    public void withoutClientOnlySameRequestSticks() {
+        Member written = inRequest(null, () -> {
+            Member member = memberRepository.save(new Member("requestMember", 20));
+            assertThat(usernames(readOnlyTx)).contains("requestMember");
+            return member;
+        });
+
+        assertThat(inRequest(null, () -> usernames(readOnlyTx))).containsExactly("replicaMember");
+
+        memberRepository.delete(written);
+    }
+
+    @Test
+    public void writeOutsideRequestDoesNotStick() {
+        Member written = memberRepository.save(new Member("batchMember", 20));
+
+        assertThat(usernames(readOnlyTx)).containsExactly("replicaMember");
+
+        memberRepository.delete(written);
+    }
+
+    @Test
+    public void rolledBackWriteDoesNotStick() {
+        inRequest("client-1", () -> tx.execute(status -> {
+            memberRepository.save(new Member("rolledBack", 20));
+            status.setRollbackOnly();
+            return null;
+        }));
+
+        assertThat(inRequest("client-1", () -> usernames(readOnlyTx))).containsExactly("replicaMember");
+    }
+
+    private List<String> usernames(TransactionTemplate template) {
+        return template.execute(status -> memberRepository.findAll().stream().map(Member::getUsername).toList());
+    }
+
+    private static <T> T inRequest(String clientId, Supplier<T> work) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            return work.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+    }
+
+    private static ConfigurableApplicationContext run(String url, String... args) {
+        String[] common = {
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.main.web-application-type=none",
+                "--spring.jmx.enabled=false"};
+        String[] all = new String[common.length + args.length];
+        System.arraycopy(common, 0, all, 0, common.length);
+        System.arraycopy(args, 0, all, common.length, args.length);
+        return new SpringApplicationBuilder(SpringDataJpaWithQuerydslApplication.class).run(all);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.jpa.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberChangeTeamTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void before() {
+        statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void after() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    /**
+     * 팀 크기와 상관없이 팀 변경 비용이 같다
+     *   - 회원 조회 1, 새 팀 조회 1, flush 시 update 1
+     *   - 이전 팀은 프록시 그대로 두고 로딩하지 않음
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000})
+    public void changeTeamCostIsFlat(int teamSize) {
+        Long[] ids = setUp(teamSize);
+        statistics.clear();
+
+        Member member = em.find(Member.class, ids[0]);
+        Team oldTeam = member.getTeam();
+        Team newTeam = em.find(Team.class, ids[1]);
+        member.changeTeam(newTeam);
+        em.flush();
+
+        assertThat(Hibernate.isInitialized(oldTeam)).isFalse();
+        assertThat(Hibernate.isInitialized(newTeam.getMembers())).isFalse();
+        assertThat(Hibernate.isInitialized(member.getTeam().getMembers())).isFalse();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void initializedCollectionsStayConsistent() {
+        Long[] ids = setUp(3);
+        Member member = em.find(Member.class, ids[0]);
+        Team oldTeam = member.getTeam();
+        Team newTeam = em.find(Team.class, ids[1]);
+        Hibernate.initialize(oldTeam.getMembers());
+
+        member.changeTeam(newTeam);
+
+        assertThat(oldTeam.getMembers()).hasSize(2).doesNotContain(member);
+        assertThat(Hibernate.isInitialized(newTeam.getMembers())).isFalse();
+
+        // 큐에 쌓아둔 add 는 컬렉션 초기화 시점에 반영됨
+        assertThat(newTeam.getMembers()).containsExactly(member);
+
+        // 같은 팀으로 다시 바꾸면 아무것도 하지 않음
+        member.changeTeam(newTeam);
+        assertThat(newTeam.getMembers()).containsExactly(member);
+    }
+
+    /**
+     * @return [옮길 회원 id, 새 팀 id]
+     */
+    private Long[] setUp(int teamSize) {
+        Team oldTeam = new Team("old");
+        Team newTeam = new Team("new");
+        em.persist(oldTeam);
+        em.persist(newTeam);
+        Member first = null;
+        for (int i = 0; i < teamSize; i++) {
+            Member member = new Member("member" + i, oldTeam);
+            em.persist(member);
+            if (first == null) {
+                first = member;
+            }
+        }
+        em.flush();
+        em.clear();
+        return new Long[]{first.getId(), newTeam.getId()};
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.example.jpa.entity;
 
 import com.example.jpa.dto.MemberDto;
+import com.example.jpa.monitoring.StatementMonitor;
+import com.example.jpa.monitoring.StatementReport;
+import com.example.jpa.monitoring.StatementScope;
 import com.example.jpa.repository.MemberRepository;
 import com.example.jpa.repository.pure.MemberJpaRepository;
 import jakarta.persistence.EntityManager;
@@ -16,6 +19,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +38,9 @@ class MemberTest {
     @Autowired
     MemberJpaRepository memberJpaRepository;
 
+    @Autowired
+    StatementMonitor statementMonitor;
+
     @Test
     void testEntity() {
 
@@ -171,4 +178,43 @@ class MemberTest {
         assertThat(resultCount).isEqualTo(3);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void lazyTeamIsNPlusOne() throws Exception {
+        //given
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("nPlusOneTeam" + i);
+            em.persist(team);
+            em.persist(new Member("nPlusOne" + i, team));
+        }
+        em.flush();
+        em.clear();
+
+        //when: 회원마다 지연 로딩으로 팀 조회
+        StatementReport lazy;
+        try (StatementScope scope = statementMonitor.open("lazyTeam")) {
+            em.createQuery("select m from Member m where m.username like 'nPlusOne%'", Member.class)
+                    .getResultList()
+                    .forEach(m -> m.getTeam().getName());
+            lazy = scope.finish();
+        }
+        em.clear();
+
+        //when: fetch join
+        StatementReport fetchJoin;
+        try (StatementScope scope = statementMonitor.open("fetchJoin")) {
+            memberRepository.findMemberFetchJoin().stream()
+                    .map(Member::getTeam)
+                    .filter(Objects::nonNull)
+                    .forEach(Team::getName);
+            fetchJoin = scope.finish();
+        }
+
+        //then
+        assertThat(lazy.count("from team")).isEqualTo(5);
+        assertThat(lazy.repeated()).hasSize(1);
+        assertThat(lazy.repeated().get(0).callSite()).contains("MemberTest");
+        assertThat(fetchJoin.statements()).isEqualTo(1);
+        assertThat(fetchJoin.repeated()).isEmpty();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.example.jpa.entity.id;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentPooledOptimizerTest {
+
+    static final int THREADS = 32;
+    static final int IDS_PER_THREAD = 10_000;
+    static final int BLOCK_SIZE = 100;
+
+    /**
+     * DB 시퀀스 흉내 (start with 1 increment by BLOCK_SIZE)
+     */
+    static class SequenceCallback implements AccessCallback {
+        final AtomicLong sequence = new AtomicLong(1);
+        final AtomicLong calls = new AtomicLong();
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            calls.incrementAndGet();
+            return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class)
+                    .initialize(sequence.getAndAdd(BLOCK_SIZE));
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+
+    @Test
+    public void concurrentAllocationHasNoDuplicates() throws Exception {
+        ConcurrentPooledOptimizer optimizer = new ConcurrentPooledOptimizer(Long.class, BLOCK_SIZE);
+        SequenceCallback callback = new SequenceCallback();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    ids.add((Long) optimizer.generate(callback));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int total = THREADS * IDS_PER_THREAD;
+        assertThat(ids).hasSize(total);
+        assertThat(ids).allMatch(id -> id >= 1 && id <= total);
+        // 시퀀스 호출은 블록당 한 번
+        assertThat(callback.calls.get()).isEqualTo(total / BLOCK_SIZE);
+    }
+
+    @Test
+    public void blockFollowsSequenceValue() {
+        ConcurrentPooledOptimizer optimizer = new ConcurrentPooledOptimizer(Long.class, BLOCK_SIZE);
+        SequenceCallback callback = new SequenceCallback();
+
+        for (int i = 1; i <= BLOCK_SIZE; i++) {
+            assertThat(optimizer.generate(callback)).isEqualTo((long) i);
+        }
+        assertThat(callback.calls.get()).isEqualTo(1);
+        assertThat(optimizer.generate(callback)).isEqualTo(BLOCK_SIZE + 1L);
+        assertThat(callback.calls.get()).isEqualTo(2);
+        assertThat(optimizer.getLastSourceValue().makeValue()).isEqualTo(BLOCK_SIZE + 1L);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.jpa.entity.id;
+
+import com.example.jpa.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * hibernate.id.optimizer.pooled.preferred 로 엔티티 ID 생성기에 ConcurrentPooledOptimizer 가 설치되고
+ * 여러 스레드의 persist 가 블록당 시퀀스 호출 한 번으로 겹치지 않는 ID 를 받는지 확인
+ */
+@SpringBootTest
+class MemberIdAllocationTest {
+
+    static final int THREADS = 8;
+    static final int MEMBERS_PER_THREAD = 50;
+    static final String SEQUENCE_VALUE =
+            "select base_value from information_schema.sequences where sequence_name = 'MEMBER_SEQ'";
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'idMember%'").executeUpdate());
+    }
+
+    @Test
+    public void generatorUsesConcurrentPooledOptimizer() {
+        SequenceStyleGenerator generator = (SequenceStyleGenerator) emf.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Member.class)
+                .getIdentifierGenerator();
+
+        assertThat(generator.getOptimizer()).isInstanceOf(ConcurrentPooledOptimizer.class);
+        assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(ConcurrentPooledOptimizer.ALLOCATION_SIZE);
+    }
+
+    /**
+     * 스레드마다 회원 하나씩 별도 트랜잭션으로 persist
+     */
+    @Test
+    public void concurrentPersistGetsUniqueIdsWithFewSequenceCalls() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long sequenceBefore = jdbcTemplate.queryForObject(SEQUENCE_VALUE, Long.class);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < MEMBERS_PER_THREAD; i++) {
+                        Member member = new Member("idMember" + thread + "_" + i, i);
+                        tx.executeWithoutResult(status -> em.persist(member));
+                        ids.add(member.getId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long sequenceAfter = jdbcTemplate.queryForObject(SEQUENCE_VALUE, Long.class);
+
+        int total = THREADS * MEMBERS_PER_THREAD;
+        assertThat(ids).hasSize(total);
+        long sequenceCalls = (sequenceAfter - sequenceBefore) / ConcurrentPooledOptimizer.ALLOCATION_SIZE;
+        // 블록 하나로 ALLOCATION_SIZE 개, 이전 테스트가 쓰다 남은 블록이 있으면 한 번 덜 부름
+        assertThat(sequenceCalls).isLessThanOrEqualTo(total / ConcurrentPooledOptimizer.ALLOCATION_SIZE);
+        assertThat(sequenceCalls).isGreaterThanOrEqualTo(total / ConcurrentPooledOptimizer.ALLOCATION_SIZE - 1);
+    }
+
+}
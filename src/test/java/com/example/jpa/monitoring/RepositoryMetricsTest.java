@@ -0,0 +1,155 @@
+package com.example.jpa.monitoring;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.repository.MemberRepository;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    RepositoryMetrics metrics;
+
+    @Autowired
+    ApplicationContext context;
+
+    Long memberId;
+
+    @BeforeEach
+    void before() {
+        Team team = new Team("metricsTeam");
+        em.persist(team);
+        Member member = new Member("metricsMember", team);
+        em.persist(member);
+        em.persist(new Member("metricsMember", team));
+        memberId = member.getId();
+        em.flush();
+        em.clear();
+        metrics.reset();
+    }
+
+    @Test
+    public void springDataFinderIsRecorded() {
+        for (int i = 0; i < 3; i++) {
+            memberRepository.findByUsername("metricsMember");
+            em.clear();
+        }
+
+        RepositoryMetrics.MethodStats stats = stats("MemberRepository.findByUsername(String)");
+        assertThat(stats.calls()).isEqualTo(3);
+        assertThat(stats.errors()).isZero();
+        assertThat(stats.statements()).isEqualTo(3);
+        assertThat(stats.rows()).isEqualTo(6);
+        assertThat(stats.entities()).isEqualTo(9); // 호출마다 회원 2 + 팀 1 (EntityGraph)
+        assertThat(stats.p50Micros()).isPositive();
+        assertThat(stats.maxMicros()).isGreaterThanOrEqualTo(stats.p99Micros());
+    }
+
+    @Test
+    public void repositoryClassIsRecorded() {
+        memberJpaRepository.find(memberId);
+
+        RepositoryMetrics.MethodStats stats = stats("MemberJpaRepository.find(Long)");
+        assertThat(stats.calls()).isEqualTo(1);
+        assertThat(stats.statements()).isEqualTo(1);
+        assertThat(stats.entities()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedCallIsCountedAsError() {
+        assertThatThrownBy(() -> memberRepository.findById(null)).isInstanceOf(RuntimeException.class);
+
+        RepositoryMetrics.MethodStats stats = stats("MemberRepository.findById(Object)");
+        assertThat(stats.calls()).isEqualTo(1);
+        assertThat(stats.errors()).isEqualTo(1);
+    }
+
+    @Test
+    public void nestedCallAddsToOuterCall() {
+        RepositoryMethodMetrics outer = metrics.method("Outer.call()");
+        RepositoryMethodMetrics inner = metrics.method("Inner.call()");
+
+        RepositoryMetrics.Call outerCall = metrics.enter();
+        metrics.onStatement();
+        RepositoryMetrics.Call innerCall = metrics.enter();
+        metrics.onStatement();
+        metrics.onRow();
+        metrics.exit(innerCall, inner, 1_000, false);
+        metrics.exit(outerCall, outer, 2_000, false);
+        metrics.onStatement(); // 호출 밖 -> 집계 안 됨
+
+        assertThat(stats("Inner.call()").statements()).isEqualTo(1);
+        assertThat(stats("Outer.call()").statements()).isEqualTo(2);
+        assertThat(stats("Outer.call()").rows()).isEqualTo(1);
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(1000);
+        assertThat((double) snapshot.p50Nanos()).isCloseTo(500_000, within(500_000 * 0.04));
+        assertThat((double) snapshot.p99Nanos()).isCloseTo(990_000, within(990_000 * 0.04));
+        assertThat(snapshot.maxNanos()).isEqualTo(1_000_000);
+
+        for (long value = 0; value < 10_000_000; value = value * 3 / 2 + 1) {
+            int index = LatencyHistogram.index(value);
+            assertThat(LatencyHistogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+            assertThat(LatencyHistogram.index(LatencyHistogram.highestValue(index))).isEqualTo(index);
+        }
+    }
+
+    @Test
+    public void exposedOverHttp() throws Exception {
+        memberRepository.findByUsername("metricsMember");
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new RepositoryMetricsController(metrics)).build();
+        mockMvc.perform(get("/monitoring/repositories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.method == 'MemberRepository.findByUsername(String)')].calls").value(1));
+    }
+
+    private RepositoryMetrics.MethodStats stats(String method) {
+        return metrics.snapshot().stream()
+                .filter(stats -> stats.method().equals(method))
+                .findFirst().orElseThrow(() -> new AssertionError(method + " not recorded: " + metrics.snapshot()));
+    }
+
+    @Test
+    public void endpointIsOffByDefault() {
+        assertThat(context.getBeanNamesForType(RepositoryMetricsController.class)).isEmpty();
+    }
+
+}
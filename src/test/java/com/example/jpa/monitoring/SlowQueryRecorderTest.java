@@ -0,0 +1,106 @@
+package com.example.jpa.monitoring;
+
+import com.example.jpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class SlowQueryRecorderTest {
+
+    @Autowired
+    SlowQueryRecorder recorder;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ApplicationContext context;
+
+    Duration threshold;
+
+    @BeforeEach
+    void before() {
+        threshold = recorder.getThreshold();
+        recorder.clear();
+        recorder.setThreshold(Duration.ZERO); // 모든 SQL 기록
+    }
+
+    @AfterEach
+    void after() {
+        recorder.setThreshold(threshold);
+        recorder.clear();
+    }
+
+    /**
+     * 기록 / 실행 계획에는 바인딩 값이 남지 않음 (EXPLAIN 은 값이 바인딩된 SQL 로 실행)
+     */
+    @Test
+    public void recordsSqlCallSiteAndPlanWithoutValues() throws Exception {
+        memberRepository.findByUsernameAndAgeGreaterThan("slowMember", 10);
+
+        SlowQuery query = find("username=?");
+        assertThat(query.getSql()).doesNotContain("slowMember");
+        assertThat(query.getElapsedMillis()).isPositive();
+        assertThat(query.getCallStack().get(0)).contains(SlowQueryRecorderTest.class.getName());
+        assertThat(awaitPlan(query)).containsIgnoringCase("idx_member_username").doesNotContain("slowMember");
+        assertThat(query.isTableScan()).isFalse();
+    }
+
+    @Test
+    public void maskLiterals() {
+        assertThat(SlowQueryRecorder.mask("SELECT M1_0.ID\nWHERE M1_0.USERNAME = 'kim' AND M1_0.AGE > 10"))
+                .isEqualTo("SELECT M1_0.ID\nWHERE M1_0.USERNAME = ? AND M1_0.AGE > ?");
+        assertThat(SlowQueryRecorder.mask(null)).isNull();
+    }
+
+    @Test
+    public void tableScanIsFlagged() throws Exception {
+        memberRepository.findMemberCustrom();
+
+        SlowQuery query = find("from member");
+        assertThat(awaitPlan(query)).isNotNull();
+        assertThat(query.isTableScan()).isTrue();
+    }
+
+    @Test
+    public void slowQueryEndpointIsOffByDefault() {
+        assertThat(context.getBeanNamesForType(SlowQueryController.class)).isEmpty();
+    }
+
+    @Test
+    public void ringBufferKeepsLatest() {
+        SlowQueryRecorder small = new SlowQueryRecorder(null, Duration.ZERO, 3, false);
+        for (int i = 1; i <= 5; i++) {
+            small.record("select " + i, "select " + i, 1_000_000, null);
+        }
+
+        List<SlowQuery> recent = small.recent();
+        assertThat(recent).extracting(SlowQuery::getSql).containsExactly("select 5", "select 4", "select 3");
+        small.shutdown();
+    }
+
+    private SlowQuery find(String fragment) {
+        return recorder.recent().stream()
+                .filter(q -> q.getSql().contains(fragment))
+                .findFirst().orElseThrow();
+    }
+
+    private static String awaitPlan(SlowQuery query) throws InterruptedException {
+        for (int i = 0; i < 100 && query.getPlan() == null; i++) {
+            Thread.sleep(50); // EXPLAIN 은 별도 스레드
+        }
+        return query.getPlan();
+    }
+
+}
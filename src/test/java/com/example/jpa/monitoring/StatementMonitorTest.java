@@ -0,0 +1,121 @@
+package com.example.jpa.monitoring;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class StatementMonitorTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    StatementMonitor statementMonitor;
+
+    @Test
+    public void normalize() {
+        assertThat(StatementMonitor.normalize("select m1_0.member_id from member m1_0\n  where m1_0.username='it''s' and m1_0.age>10"))
+                .isEqualTo("select m1_0.member_id from member m1_0 where m1_0.username=? and m1_0.age>?");
+        assertThat(StatementMonitor.normalize("select t1_0.team_id from team t1_0 where t1_0.team_id in (?, ?,?)"))
+                .isEqualTo(StatementMonitor.normalize("select t1_0.team_id from team t1_0 where t1_0.team_id in (?,?)"));
+    }
+
+    @Test
+    public void lazyCollectionLoopIsReportedAsNPlusOne() {
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("monitorTeam" + i);
+            em.persist(team);
+            em.persist(new Member("monitorMember" + i, team));
+        }
+        em.flush();
+        em.clear();
+
+        StatementReport report;
+        try (StatementScope scope = statementMonitor.open("teamMembers")) {
+            List<Team> teams = em.createQuery("select t from Team t where t.name like 'monitorTeam%'", Team.class)
+                    .getResultList();
+            teams.forEach(team -> team.getMembers().size());
+            report = scope.finish();
+        }
+
+        assertThat(report.statements()).isEqualTo(6);
+        assertThat(report.repeated()).hasSize(1);
+        StatementReport.SqlShape repeated = report.repeated().get(0);
+        assertThat(repeated.count()).isEqualTo(5);
+        assertThat(repeated.sql()).contains("from member").contains("team_id=?");
+        assertThat(repeated.callSite()).contains(StatementMonitorTest.class.getName());
+        assertThat(report.violated()).isTrue();
+    }
+
+    @Test
+    public void budgetExceededFailsWhenConfigured() {
+        StatementMonitor failing = new StatementMonitor(5, 2, true, false);
+
+        StatementScope scope = failing.open("budget");
+        failing.onStatement("select 1");
+        failing.onStatement("update member set age=age+1");
+        failing.onStatement("delete from member where age>100");
+
+        assertThatThrownBy(scope::close)
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .satisfies(e -> {
+                    StatementReport report = ((StatementBudgetExceededException) e).getReport();
+                    assertThat(report.exceeded()).isTrue();
+                    assertThat(report.repeated()).isEmpty();
+                });
+
+        // 구간이 닫힌 뒤에는 집계되지 않음 (트랜잭션 밖)
+        failing.onStatement("select 1");
+        assertThat(scope.report().statements()).isEqualTo(3);
+    }
+
+    /**
+     * IN 목록 chunk 를 순서대로 조회 -> 같은 모양이 반복돼도 N+1 이 아님 (SQL 수는 예산에 포함)
+     */
+    @Test
+    public void inListChunksAreNotReportedAsNPlusOne() {
+        StatementMonitor monitor = new StatementMonitor(5, 100, false, false);
+
+        StatementReport report;
+        try (StatementScope scope = monitor.open("chunks")) {
+            for (int i = 0; i < 6; i++) {
+                monitor.onStatement("select t1_0.team_id from team t1_0 where t1_0.team_id in (?,?,?,?)");
+            }
+            report = scope.finish();
+        }
+
+        assertThat(report.statements()).isEqualTo(6);
+        assertThat(report.repeated()).isEmpty();
+        assertThat(report.violated()).isFalse();
+    }
+
+    /**
+     * 구간 없이 트랜잭션 안에서 실행한 SQL 은 transaction-scope 가 켜져 있을 때만 집계
+     */
+    @Test
+    public void transactionScopeIsOptIn() {
+        int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+
+        statementMonitor.onStatement("select 1");
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(synchronizations);
+
+        StatementMonitor enabled = new StatementMonitor(5, 100, false, true);
+        enabled.onStatement("select 1");
+        enabled.onStatement("select 2");
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(synchronizations + 1);
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.example.jpa.monitoring;
+
+import com.example.jpa.SpringDataJpaWithQuerydslApplication;
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 트랜잭션마다 이름을 붙이고 롤백 (데이터를 남기지 않음)
+ */
+@SpringBootTest
+class TransactionProfilerTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TransactionProfiler profiler;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationContext context;
+
+    int threshold;
+
+    @BeforeEach
+    void before() {
+        threshold = profiler.getManagedEntityThreshold();
+        profiler.reset();
+    }
+
+    @AfterEach
+    void after() {
+        profiler.setManagedEntityThreshold(threshold);
+    }
+
+    @Test
+    public void flushAndBatchesAreProfiled() {
+        inTransaction("profileInsert", () -> {
+            Team team = new Team("profileTeam");
+            em.persist(team);
+            for (int i = 0; i < 20; i++) {
+                em.persist(new Member("profileMember" + i, team));
+            }
+            em.flush();
+        });
+
+        TransactionStats.Snapshot stats = stats("profileInsert");
+        assertThat(stats.transactions()).isEqualTo(1);
+        assertThat(stats.rollbacks()).isEqualTo(1);
+        assertThat(stats.maxManagedEntities()).isEqualTo(21);
+        assertThat(stats.flushes()).isEqualTo(1);
+        assertThat(stats.batches()).isPositive();
+        assertThat(stats.largeContexts()).isZero();
+    }
+
+    @Test
+    public void dirtyCheckingIsProfiled() {
+        inTransaction("profileUpdate", () -> {
+            Team team = new Team("profileTeam");
+            em.persist(team);
+            for (int i = 0; i < 10; i++) {
+                em.persist(new Member("profileMember" + i, team));
+            }
+            em.flush();
+            em.clear();
+
+            em.createQuery("select m from Member m where m.username like 'profileMember%'", Member.class)
+                    .getResultList()
+                    .forEach(m -> m.setAge(m.getAge() + 1));
+            em.flush();
+        });
+
+        TransactionStats.Snapshot stats = stats("profileUpdate");
+        assertThat(stats.flushes()).isGreaterThanOrEqualTo(2); // 쿼리 전 자동 flush 포함
+        assertThat(stats.batches()).isGreaterThanOrEqualTo(3); // team insert, member insert, member update
+        // 바이트코드 향상(dirty tracking) -> 스냅샷 비교 없이 변경된 회원만 update
+        assertThat(stats.dirtyChecks()).isZero();
+        assertThat(stats.dirtyCheckMillis()).isZero();
+    }
+
+    @Test
+    public void largePersistenceContextIsFlagged() {
+        profiler.setManagedEntityThreshold(5);
+
+        inTransaction("profileFindAll", () -> {
+            Team team = new Team("profileTeam");
+            em.persist(team);
+            for (int i = 0; i < 10; i++) {
+                em.persist(new Member("profileMember" + i, team));
+            }
+            em.flush();
+            em.clear();
+
+            memberRepository.findAll(); // @EntityGraph(team) -> 회원 + 팀 전부
+        });
+
+        TransactionStats.Snapshot stats = stats("profileFindAll");
+        assertThat(stats.largeContexts()).isEqualTo(1);
+        assertThat(stats.maxManagedEntities()).isGreaterThan(10);
+    }
+
+    /**
+     * 컨텍스트가 하나 더 떠 있어도 트랜잭션은 자기 EntityManagerFactory 의 프로파일러에 집계됨
+     */
+    @Test
+    public void otherContextDoesNotTakeOverProfiling() {
+        ConfigurableApplicationContext other = new SpringApplicationBuilder(SpringDataJpaWithQuerydslApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:profiler-other;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.main.web-application-type=none",
+                        "--spring.jmx.enabled=false");
+        try {
+            TransactionProfiler otherProfiler = other.getBean(TransactionProfiler.class);
+            otherProfiler.reset();
+
+            inTransaction("profileThisContext", () -> memberRepository.findAll());
+
+            assertThat(stats("profileThisContext").transactions()).isEqualTo(1);
+            assertThat(otherProfiler.stats()).extracting(TransactionStats.Snapshot::name)
+                    .doesNotContain("profileThisContext");
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    public void endpointIsOffByDefault() {
+        assertThat(context.getBeanNamesForType(TransactionProfileController.class)).isEmpty();
+    }
+
+    private void inTransaction(String name, Runnable work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setName(name);
+        tx.executeWithoutResult(status -> {
+            em.unwrap(Session.class).setJdbcBatchSize(100); // JDBC batch 는 전역 설정이 없으므로 세션별로 켬
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private TransactionStats.Snapshot stats(String name) {
+        return profiler.stats().stream()
+                .filter(stats -> stats.name().equals(name))
+                .findFirst().orElseThrow(() -> new AssertionError(name + " not profiled: " + profiler.stats()));
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.example.jpa.querydsl.cache;
+
+import com.example.jpa.querydsl.entity.Member2;
+import com.example.jpa.querydsl.entity.QMember2;
+import com.example.jpa.querydsl.entity.Team2;
+import com.querydsl.jpa.JPAExpressions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.jpa.querydsl.entity.QMember2.member2;
+import static com.example.jpa.querydsl.entity.QTeam2.team2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class QueryTemplateCacheTest {
+
+    static final List<String> USERNAMES = List.of("tc1", "tc2", "tc3", "tc4");
+
+    @PersistenceContext
+    EntityManager em;
+
+    QueryTemplateCache cache;
+    CachingJPAQueryFactory queryFactory;
+
+    @BeforeEach
+    void before() {
+        Team2 teamA = new Team2("tcTeamA");
+        Team2 teamB = new Team2("tcTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member2("tc1", 10, teamA));
+        em.persist(new Member2("tc2", 20, teamA));
+        em.persist(new Member2("tc3", 30, teamB));
+        em.persist(new Member2("tc4", 40, teamB));
+
+        cache = new QueryTemplateCache(100);
+        queryFactory = new CachingJPAQueryFactory(em, cache);
+    }
+
+    @Test
+    public void sameShapeReusesTemplate() {
+        assertThat(search("tc1", 10)).containsExactly("tc1");
+        assertThat(search("tc3", 30)).containsExactly("tc3");
+        assertThat(search("tc3", 10)).isEmpty();
+
+        QueryTemplateCache.Stats stats = cache.stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void differentShapeIsCachedSeparately() {
+        search("tc1", 10);
+        assertThat(usernames(queryFactory.selectFrom(member2).where(member2.username.eq("tc2")).fetch()))
+                .containsExactly("tc2");
+
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    public void sharedConstantIsBoundPerPosition() {
+        // ConstantImpl 은 작은 정수를 캐시하므로 10, 10 은 같은 인스턴스
+        assertThat(ageBetween(10, 10)).containsExactly("tc1");
+        assertThat(ageBetween(20, 30)).containsExactly("tc2", "tc3");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    public void inClauseAndPaging() {
+        assertThat(usernameIn(List.of("tc1", "tc2"), 0)).containsExactly("tc1", "tc2");
+        assertThat(usernameIn(List.of("tc1", "tc3", "tc4"), 1)).containsExactly("tc3", "tc4");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+
+        // 빈 IN 은 JPQL 이 달라지므로 캐시하지 않음
+        assertThat(usernameIn(List.of(), 0)).isEmpty();
+        assertThat(cache.stats().bypassed()).isEqualTo(1);
+    }
+
+    @Test
+    public void joinAndSubQuery() {
+        assertThat(oldestOfTeam("tcTeamA")).containsExactly("tc2");
+        assertThat(oldestOfTeam("tcTeamB")).containsExactly("tc4");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    public void valueTransformingTemplateIsNotCached() {
+        // startsWith 는 값의 % _ 를 escape 해서 JPQL 에 넣음
+        assertThat(usernames(queryFactory.selectFrom(member2).where(member2.username.startsWith("tc%")).fetch()))
+                .isEmpty();
+        assertThat(cache.stats().bypassed()).isEqualTo(1);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    private List<String> search(String username, int age) {
+        return usernames(queryFactory
+                .selectFrom(member2)
+                .where(member2.username.eq(username).and(member2.age.eq(age)))
+                .fetch());
+    }
+
+    private List<String> ageBetween(int from, int to) {
+        return queryFactory
+                .select(member2.username)
+                .from(member2)
+                .where(member2.username.in(USERNAMES), member2.age.goe(from), member2.age.loe(to))
+                .orderBy(member2.username.asc())
+                .fetch();
+    }
+
+    private List<String> usernameIn(List<String> usernames, int offset) {
+        return queryFactory
+                .select(member2.username)
+                .from(member2)
+                .where(member2.username.in(usernames))
+                .orderBy(member2.username.asc())
+                .offset(offset)
+                .limit(10)
+                .fetch();
+    }
+
+    private List<String> oldestOfTeam(String teamName) {
+        QMember2 sub = new QMember2("sub");
+        return queryFactory
+                .select(member2.username)
+                .from(member2)
+                .join(member2.team, team2)
+                .where(team2.name.eq(teamName),
+                        member2.age.eq(JPAExpressions
+                                .select(sub.age.max())
+                                .from(sub)
+                                .where(sub.team.eq(member2.team))))
+                .fetch();
+    }
+
+    private static List<String> usernames(List<Member2> members) {
+        return members.stream().map(Member2::getUsername).toList();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.example.jpa.querydsl.report;
+
+import com.example.jpa.querydsl.entity.Member2;
+import com.example.jpa.querydsl.entity.Team2;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.example.jpa.querydsl.entity.QMember2.member2;
+import static com.example.jpa.querydsl.entity.QTeam2.team2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 병렬 구간 집계 결과가 단일 쿼리 결과와 같은지 확인
+ *   - 구간마다 별도 커넥션에서 읽으므로 데이터를 커밋하고 직접 정리
+ */
+@SpringBootTest
+class Member2StatisticsServiceTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    Member2StatisticsService statisticsService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team2[] teams = {new Team2("reportTeamA"), new Team2("reportTeamB"), new Team2("reportTeamC")};
+            for (Team2 team : teams) {
+                em.persist(team);
+            }
+            for (int i = 0; i < 1_000; i++) {
+                em.persist(new Member2("reportMember" + i, i % 97, teams[i % 3]));
+            }
+            em.persist(new Member2("reportNoTeam", 200));
+        });
+    }
+
+    @AfterEach
+    void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member2 m where m.username like 'report%'").executeUpdate();
+            em.createQuery("delete from Team2 t where t.name like 'report%'").executeUpdate();
+        });
+    }
+
+    @Test
+    public void ageStatisticsMatchesSingleQuery() {
+        Tuple expected = tx.execute(status -> new JPAQueryFactory(em)
+                .select(member2.count(), member2.age.sum(), member2.age.avg(), member2.age.max(), member2.age.min())
+                .from(member2)
+                .fetchOne());
+
+        AgeStatistics actual = statisticsService.ageStatistics();
+
+        assertThat(actual.count()).isEqualTo(expected.get(member2.count()));
+        assertThat(actual.sum()).isEqualTo(expected.get(1, Number.class).longValue());
+        assertThat(actual.average()).isCloseTo(expected.get(member2.age.avg()), within(1e-9));
+        assertThat(actual.max()).isEqualTo(expected.get(member2.age.max()));
+        assertThat(actual.min()).isEqualTo(expected.get(member2.age.min()));
+    }
+
+    @Test
+    public void ageStatisticsByTeamMatchesGroupBy() {
+        List<Tuple> expected = tx.execute(status -> new JPAQueryFactory(em)
+                .select(team2.name, member2.age.avg(), member2.count())
+                .from(member2)
+                .join(member2.team, team2)
+                .where(team2.name.startsWith("report"))
+                .groupBy(team2.name)
+                .orderBy(team2.name.asc())
+                .fetch());
+
+        List<TeamAgeStatistics> actual = statisticsService.ageStatisticsByTeam().stream()
+                .filter(team -> team.teamName().startsWith("report"))
+                .toList();
+
+        assertThat(actual).extracting(TeamAgeStatistics::teamName)
+                .containsExactly("reportTeamA", "reportTeamB", "reportTeamC");
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).age().count()).isEqualTo(expected.get(i).get(member2.count()));
+            assertThat(actual.get(i).age().average()).isCloseTo(expected.get(i).get(member2.age.avg()), within(1e-9));
+        }
+    }
+
+    @Test
+    public void mergeComputesAverageFromSumAndCount() {
+        AgeStatistics merged = new AgeStatistics(1, 10, 10, 10)
+                .merge(new AgeStatistics(3, 90, 20, 40))
+                .merge(AgeStatistics.EMPTY);
+
+        // 부분 평균(10, 30)의 평균 20 이 아니라 100 / 4
+        assertThat(merged.average()).isEqualTo(25.0);
+        assertThat(merged.min()).isEqualTo(10);
+        assertThat(merged.max()).isEqualTo(40);
+    }
+
+}
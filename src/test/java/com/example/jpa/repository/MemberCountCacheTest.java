@@ -0,0 +1,137 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import com.example.jpa.repository.support.MemberCountCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberCountCacheTest {
+
+    static final int AGE = 44;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberCountCache countCache;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void before() {
+        for (int i = 1; i <= 5; i++) {
+            memberJpaRepository.save(new Member("member" + i, AGE));
+        }
+        em.flush();
+        em.clear();
+        countCache.invalidateAll();
+
+        statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void after() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void lastPageSkipsCount() {
+        Page<Member> page = memberJpaRepository.findPageByAge(AGE, PageRequest.of(1, 3));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1); //content 쿼리만
+        assertThat(countCache.size()).isZero();
+    }
+
+    @Test
+    public void countIsCached() {
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+        Page<Member> first = memberRepository.findPageByAge(AGE, pageRequest);
+        long afterFirst = statistics.getPrepareStatementCount();
+        Page<Member> second = memberRepository.findPageByAge(AGE, pageRequest);
+
+        assertThat(afterFirst).isEqualTo(2); //content + count
+        assertThat(statistics.getPrepareStatementCount() - afterFirst).isEqualTo(1); //content 만
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(second.getTotalElements()).isEqualTo(5);
+        assertThat(second.getContent()).extracting("username").containsExactly("member5", "member4", "member3");
+    }
+
+    @Test
+    public void saveAndDeleteInvalidateCount() {
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        memberJpaRepository.findPageByAge(AGE, pageRequest);
+        assertThat(countCache.size()).isEqualTo(1);
+
+        memberRepository.save(new Member("member6", AGE));
+        em.flush();
+        assertThat(countCache.size()).isZero();
+        assertThat(memberJpaRepository.findPageByAge(AGE, pageRequest).getTotalElements()).isEqualTo(6);
+
+        memberJpaRepository.delete(memberRepository.findMemberByUsername("member6"));
+        em.flush();
+        assertThat(countCache.size()).isZero();
+        assertThat(memberJpaRepository.findPageByAge(AGE, pageRequest).getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void bulkUpdateInvalidatesCount() {
+        memberRepository.findPageByAge(AGE, PageRequest.of(0, 3));
+        assertThat(countCache.size()).isEqualTo(1);
+
+        memberRepository.bulkAgePlus(AGE);
+
+        assertThat(countCache.size()).isZero();
+        assertThat(memberRepository.findPageByAge(AGE, PageRequest.of(0, 3)).getTotalElements()).isZero();
+    }
+
+    /**
+     * 커밋 전에 다른 트랜잭션이 옛 count 로 다시 채워도 커밋 후에 비워짐
+     */
+    @Test
+    public void countIsInvalidatedAgainAfterCommit() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        tx.executeWithoutResult(status -> {
+            countCache.invalidateAllAfterCommit();
+            countCache.invalidateAllAfterCommit(); // 트랜잭션당 한 번만 등록
+            countCache.get("age=" + AGE, () -> 5); // 커밋 전 다른 트랜잭션이 옛 count 로 채움
+            assertThat(countCache.size()).isEqualTo(1);
+        });
+
+        assertThat(countCache.size()).isZero();
+    }
+
+}
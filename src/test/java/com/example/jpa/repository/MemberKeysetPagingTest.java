@@ -0,0 +1,168 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.monitoring.StatementMonitor;
+import com.example.jpa.monitoring.StatementReport;
+import com.example.jpa.monitoring.StatementScope;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import com.example.jpa.repository.support.KeysetPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberKeysetPagingTest {
+
+    static final int AGE = 33;
+    static final int TOTAL = 5_000;
+    static final int SIZE = 5;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    StatementMonitor statementMonitor;
+
+    @BeforeEach
+    void before() {
+        for (int i = 0; i < TOTAL; i++) {
+            em.persist(new Member(String.format("keyset%05d", i % 1_000), AGE));
+            if (i % 500 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void keysetPagingByJpa() {
+        KeysetPage<Member> page = memberJpaRepository.findByKeyset(AGE, null, SIZE);
+        int pages = 1;
+        int rows = page.getContent().size();
+        while (page.hasNext()) {
+            page = memberJpaRepository.findByKeyset(AGE, page.getNextCursor(), SIZE);
+            pages++;
+            rows += page.getContent().size();
+        }
+        assertThat(pages).isEqualTo(TOTAL / SIZE);
+        assertThat(rows).isEqualTo(TOTAL);
+    }
+
+    @Test
+    public void keysetPagingMatchesOffsetPaging() {
+        // 1,000 번째 페이지까지 커서로 이동
+        KeysetPage<Member> page = memberRepository.findByKeyset(AGE, null, SIZE);
+        for (int i = 1; i < 1_000 - 1; i++) {
+            page = memberRepository.findByKeyset(AGE, page.getNextCursor(), SIZE);
+        }
+        KeysetPage<Member> deepPage = memberRepository.findByKeyset(AGE, page.getNextCursor(), SIZE);
+
+        List<Member> offsetPage = em.createQuery("select m from Member m where m.age = :age" +
+                        " order by m.username desc, m.id desc", Member.class)
+                .setParameter("age", AGE)
+                .setFirstResult((1_000 - 1) * SIZE)
+                .setMaxResults(SIZE)
+                .getResultList();
+
+        assertThat(deepPage.getContent()).containsExactlyElementsOf(offsetPage);
+        assertThat(deepPage.hasNext()).isFalse();
+    }
+
+    /**
+     * username 이 null 인 회원은 제외 -> 커서가 "null" 문자열이 되어 페이지가 반복되지 않음
+     */
+    @Test
+    public void nullUsernamesAreExcluded() {
+        for (int i = 0; i < SIZE * 2; i++) {
+            em.persist(new Member(null, AGE));
+        }
+        em.flush();
+        em.clear();
+
+        assertThat(countRows(cursor -> memberJpaRepository.findByKeyset(AGE, cursor, SIZE))).isEqualTo(TOTAL);
+        assertThat(countRows(cursor -> memberRepository.findByKeyset(AGE, cursor, SIZE))).isEqualTo(TOTAL);
+    }
+
+    @Test
+    public void limitMustBePositive() {
+        assertThatThrownBy(() -> memberJpaRepository.findByKeyset(AGE, null, 0))
+                .hasMessageContaining("limit must be positive"); // @Repository 예외 변환으로 감싸질 수 있음
+        assertThatThrownBy(() -> memberRepository.findByKeyset(AGE, null, -1))
+                .hasMessageContaining("limit must be positive"); // @Repository 예외 변환으로 감싸질 수 있음
+    }
+
+    /**
+     * 깊은 페이지도 첫 페이지와 같은 수의 statement / row 만 읽는다
+     *   - SQL 에 offset 이 없고 커서 위치를 조건으로 찾음 (offset 페이징은 건너뛸 행을 모두 읽음)
+     */
+    @Test
+    public void deepPageCostsSameAsFirstPage() {
+        Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        KeysetPage<Member> page = memberJpaRepository.findByKeyset(AGE, null, SIZE);
+        String firstCursor = page.getNextCursor();
+        for (int i = 1; i < 900; i++) {
+            page = memberJpaRepository.findByKeyset(AGE, page.getNextCursor(), SIZE);
+        }
+        String deepCursor = page.getNextCursor();
+        em.clear();
+
+        statistics.clear();
+        memberJpaRepository.findByKeyset(AGE, firstCursor, SIZE);
+        long firstStatements = statistics.getPrepareStatementCount();
+        long firstLoads = statistics.getEntityLoadCount();
+        em.clear();
+
+        statistics.clear();
+        StatementReport report;
+        try (StatementScope scope = statementMonitor.open("deepPage")) {
+            memberJpaRepository.findByKeyset(AGE, deepCursor, SIZE);
+            report = scope.report();
+        }
+        long deepStatements = statistics.getPrepareStatementCount();
+        long deepLoads = statistics.getEntityLoadCount();
+
+        statistics.setStatisticsEnabled(false);
+        assertThat(deepStatements).isEqualTo(firstStatements).isEqualTo(1);
+        assertThat(deepLoads).isEqualTo(firstLoads).isEqualTo(SIZE + 1);
+        assertThat(report.shapes()).singleElement().satisfies(shape -> assertThat(shape.sql())
+                .doesNotContain("offset")
+                .contains("username<?")
+                .contains("fetch first ? rows only"));
+    }
+
+    private int countRows(Function<String, KeysetPage<Member>> finder) {
+        KeysetPage<Member> page = finder.apply(null);
+        int rows = page.getContent().size();
+        int pages = 1;
+        while (page.hasNext()) {
+            page = finder.apply(page.getNextCursor());
+            rows += page.getContent().size();
+            assertThat(++pages).isLessThanOrEqualTo(TOTAL / SIZE);
+        }
+        return rows;
+    }
+
+}
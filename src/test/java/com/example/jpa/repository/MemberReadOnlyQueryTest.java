@@ -0,0 +1,92 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberReadOnlyQueryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    Long memberId;
+
+    @BeforeEach
+    void before() {
+        Team team = new Team("readOnlyTeam");
+        em.persist(team);
+        Member member = new Member("readOnlyMember", team);
+        em.persist(member);
+        memberId = member.getId();
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void fetchJoinIsReadOnly() {
+        assertReadOnly(memberRepository::findMemberFetchJoin);
+    }
+
+    @Test
+    public void entityGraphIsReadOnly() {
+        assertReadOnly(memberRepository::findMemberEntityGraph);
+    }
+
+    @Test
+    public void customQueryIsReadOnly() {
+        assertReadOnly(memberRepository::findMemberCustrom);
+    }
+
+    @Test
+    public void otherFindersAreManagedAsUsual() {
+        Member member = memberRepository.findByUsername("readOnlyMember").get(0);
+        assertThat(session().isReadOnly(member)).isFalse();
+
+        member.setUsername("renamed");
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Member.class, memberId).getUsername()).isEqualTo("renamed");
+    }
+
+    private void assertReadOnly(Supplier<List<Member>> finder) {
+        Member member = finder.get().stream()
+                .filter(m -> m.getId().equals(memberId))
+                .findFirst().orElseThrow();
+
+        assertThat(session().isReadOnly(member)).isTrue();
+        assertThat(session().isReadOnly(member.getTeam())).isTrue();
+
+        // 스냅샷이 없으므로 변경 감지 대상 아님
+        member.setUsername("changed");
+        member.getTeam().setName("changedTeam");
+        em.flush();
+        em.clear();
+
+        Member reloaded = em.find(Member.class, memberId);
+        assertThat(reloaded.getUsername()).isEqualTo("readOnlyMember");
+        assertThat(reloaded.getTeam().getName()).isEqualTo("readOnlyTeam");
+    }
+
+    private Session session() {
+        return em.unwrap(Session.class);
+    }
+
+}
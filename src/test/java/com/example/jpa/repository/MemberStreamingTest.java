@@ -0,0 +1,119 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.dto.MemberDto;
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.repository.pure.MemberJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberStreamingTest {
+
+    static final int TOTAL = 20_000;
+    static final int FETCH_SIZE = 100;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @BeforeEach
+    void before() {
+        Team team = new Team("stream");
+        em.persist(team);
+        for (int i = 0; i < TOTAL; i++) {
+            em.persist(new Member("stream" + i, team));
+            if (i % 1_000 == 0) {
+                em.flush();
+                em.clear();
+                team = em.getReference(Team.class, team.getId());
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 스트리밍 중 영속성 컨텍스트 크기가 fetch size 를 넘지 않는다
+     */
+    @Test
+    public void streamMembersKeepsPersistenceContextBounded() {
+        Session session = em.unwrap(Session.class);
+        AtomicInteger rows = new AtomicInteger();
+        AtomicInteger maxManaged = new AtomicInteger();
+
+        try (Stream<Member> stream = memberRepository.streamMembers(FETCH_SIZE)) {
+            stream.forEach(m -> {
+                rows.incrementAndGet();
+                maxManaged.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+            });
+        }
+
+        assertThat(rows.get()).isGreaterThanOrEqualTo(TOTAL);
+        assertThat(maxManaged.get()).isLessThanOrEqualTo(FETCH_SIZE);
+    }
+
+    @Test
+    public void streamAllByJpa() {
+        Session session = em.unwrap(Session.class);
+        AtomicInteger maxManaged = new AtomicInteger();
+
+        long count;
+        try (Stream<Member> stream = memberJpaRepository.streamAll(FETCH_SIZE)) {
+            count = stream
+                    .peek(m -> maxManaged.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max))
+                    .count();
+        }
+
+        assertThat(count).isEqualTo(memberJpaRepository.count());
+        assertThat(maxManaged.get()).isLessThanOrEqualTo(FETCH_SIZE);
+    }
+
+    /**
+     * 스트리밍 중에도 호출한 쪽의 엔티티 / flush 전 변경은 유지 (스트림이 읽은 회원만 분리)
+     */
+    @Test
+    public void streamKeepsCallersPersistenceContext() {
+        Team team = em.createQuery("select t from Team t where t.name = 'stream'", Team.class).getSingleResult();
+        Member first;
+        try (Stream<Member> stream = memberRepository.streamMembers(FETCH_SIZE)) {
+            first = stream.peek(m -> team.setName("renamedWhileStreaming"))
+                    .reduce((a, b) -> a).orElseThrow();
+        }
+
+        assertThat(em.contains(team)).isTrue();
+        assertThat(em.contains(first)).isFalse();
+        em.flush();
+        em.clear();
+        assertThat(em.find(Team.class, team.getId()).getName()).isEqualTo("renamedWhileStreaming");
+    }
+
+    @Test
+    public void streamMemberDto() {
+        long count;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto(FETCH_SIZE)) {
+            count = stream.filter(dto -> "stream".equals(dto.getTeamName())).count();
+        }
+
+        assertThat(count).isEqualTo(TOTAL);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.support.MemberUsernameCache;
+import com.example.jpa.repository.support.MemberUsernameCacheListener;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberUsernameCacheTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberUsernameCache usernameCache;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void before() {
+        memberRepository.save(new Member("cachedUser", 10));
+        em.flush();
+        em.clear();
+        usernameCache.clear();
+
+        statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void after() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void repeatedLookupIsPrimaryKeyFetch() {
+        assertThat(memberRepository.findCachedByUsername("cachedUser")).extracting("username").containsExactly("cachedUser");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); //id 조회 + PK 조회
+        em.clear();
+        statistics.clear();
+
+        assertThat(memberRepository.findCachedByUsername("cachedUser")).extracting("username").containsExactly("cachedUser");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1); //PK 조회만
+    }
+
+    @Test
+    public void missIsCached() {
+        assertThat(memberRepository.findCachedByUsername("nobody")).isEmpty();
+        assertThat(memberRepository.findCachedByUsername("nobody")).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        memberRepository.save(new Member("nobody", 20));
+        em.flush();
+
+        assertThat(memberRepository.findCachedByUsername("nobody")).extracting("age").containsExactly(20);
+    }
+
+    @Test
+    public void renameAndDeleteInvalidate() {
+        Member member = memberRepository.findCachedByUsername("cachedUser").get(0);
+
+        member.setUsername("renamedUser");
+        em.flush();
+
+        assertThat(memberRepository.findCachedByUsername("cachedUser")).isEmpty();
+        assertThat(memberRepository.findCachedByUsername("renamedUser")).containsExactly(member);
+
+        memberRepository.delete(member);
+        em.flush();
+
+        assertThat(memberRepository.findCachedByUsername("renamedUser")).isEmpty();
+    }
+
+    /**
+     * 회원 여러 명 저장 / 수정 -> 커밋 후 무효화 synchronization 은 트랜잭션당 하나
+     */
+    @Test
+    public void afterCompletionInvalidationIsRegisteredOnce() {
+        for (int i = 0; i < 50; i++) {
+            em.persist(new Member("cachedUser" + i, i));
+        }
+        em.flush();
+        em.createQuery("select m from Member m where m.username like 'cachedUser%'", Member.class)
+                .getResultList()
+                .forEach(m -> m.setAge(m.getAge() + 1));
+        em.flush();
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations())
+                .filteredOn(sync -> sync.getClass().getEnclosingClass() == MemberUsernameCacheListener.class)
+                .hasSize(1);
+    }
+
+}
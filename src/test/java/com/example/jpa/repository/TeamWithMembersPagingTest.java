@@ -0,0 +1,126 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.dto.TeamWithMembersDto;
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.repository.pure.TeamJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@Transactional
+class TeamWithMembersPagingTest {
+
+    static final int TEAMS = 30;
+    static final int MEMBERS_PER_TEAM = 20;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+
+    @Autowired
+    teamRepository teamRepository;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void before() {
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team(String.format("pagedTeam%02d", i));
+            em.persist(team);
+            for (int j = 0; j < MEMBERS_PER_TEAM; j++) {
+                em.persist(new Member("pagedMember" + j, team));
+            }
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void after() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void pagingByJpa() {
+        long total = teamJpaRepository.count();
+        statistics.clear();
+
+        Page<TeamWithMembersDto> page = teamJpaRepository.findTeamsWithMembers(PageRequest.of(1, 5));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(total);
+        assertThat(page.getContent()).extracting(TeamWithMembersDto::getId).isSorted();
+        // id 페이징 + fetch join + count, 회원은 해당 페이지의 팀 것만 로딩
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        long pageMembers = page.getContent().stream().mapToLong(team -> team.getMembers().size()).sum();
+        // 2차 캐시 대상(Team)은 fetch join 행마다 load 로 집계되므로 Member 기준으로 확인
+        assertThat(statistics.getEntityStatistics(Member.class.getName()).getLoadCount()).isEqualTo(pageMembers);
+    }
+
+    @Test
+    public void pagingByDataJpa() {
+        PageRequest pageRequest = PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "name"));
+
+        Page<TeamWithMembersDto> page = teamRepository.findTeamsWithMembers(pageRequest);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getContent()).extracting(TeamWithMembersDto::getName)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(page.getContent()).allSatisfy(team -> {
+            Long count = em.createQuery("select count(m) from Member m where m.team.id = :id", Long.class)
+                    .setParameter("id", team.getId())
+                    .getSingleResult();
+            assertThat(team.getMembers())
+                    .hasSize(count.intValue())
+                    .allMatch(m -> m.getTeamName().equals(team.getName()));
+        });
+        assertThat(statements).isEqualTo(3);
+    }
+
+    /**
+     * id 페이징과 fetch join 사이에 팀이 삭제된 경우 -> 해당 팀만 빠짐
+     */
+    @Test
+    public void teamDeletedBetweenQueriesIsSkipped() {
+        Page<Long> ids = teamRepository.findTeamIds(PageRequest.of(0, 4, Sort.by("id")));
+        List<Team> fetched = teamRepository.findWithMembersByIdIn(ids.getContent().subList(1, 4));
+        teamRepository mock = mock(teamRepository.class, CALLS_REAL_METHODS);
+        doReturn(ids).when(mock).findTeamIds(any());
+        doReturn(fetched).when(mock).findWithMembersByIdIn(any());
+
+        Page<TeamWithMembersDto> page = mock.findTeamsWithMembers(PageRequest.of(0, 4, Sort.by("id")));
+
+        assertThat(page.getContent()).extracting(TeamWithMembersDto::getId)
+                .containsExactlyElementsOf(ids.getContent().subList(1, 4));
+        assertThat(page.getTotalElements()).isEqualTo(ids.getTotalElements());
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.jpa.repository.async;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기 작업은 다른 스레드의 트랜잭션에서 실행되므로 데이터를 커밋하고 직접 정리
+ */
+@SpringBootTest
+class AsyncMemberRepositoryTest {
+
+    @Autowired
+    AsyncMemberRepository asyncMemberRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long memberId;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+        memberId = tx.execute(status -> memberRepository.save(new Member("asyncMember", 77)).getId());
+    }
+
+    @AfterEach
+    void after() {
+        tx.executeWithoutResult(status -> memberRepository.deleteById(memberId));
+    }
+
+    @Test
+    public void findersComplete() {
+        CompletableFuture<String> username = asyncMemberRepository.findById(memberId)
+                .thenApply(member -> member.orElseThrow().getUsername());
+        CompletableFuture<List<Member>> byUsername = asyncMemberRepository.findByUsername("asyncMember");
+
+        assertThat(username.join()).isEqualTo("asyncMember");
+        assertThat(byUsername.join()).extracting(Member::getId).containsExactly(memberId);
+    }
+
+    @Test
+    public void eachTaskRunsInItsOwnReadOnlyTransaction() {
+        Boolean readOnly = asyncMemberRepository.supply(TransactionSynchronizationManager::isCurrentTransactionReadOnly).join();
+
+        assertThat(readOnly).isTrue();
+    }
+
+    @Test
+    public void concurrencyIsBoundedByConnectionPool() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Long>> futures = IntStream.range(0, 200)
+                .mapToObj(i -> asyncMemberRepository.supply(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        return memberRepository.count();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(futures).allMatch(f -> f.join() > 0);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(asyncMemberRepository.getMaxConcurrency());
+    }
+
+}
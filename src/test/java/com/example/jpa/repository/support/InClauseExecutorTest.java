@@ -0,0 +1,190 @@
+package com.example.jpa.repository.support;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.monitoring.SlowQuery;
+import com.example.jpa.monitoring.SlowQueryRecorder;
+import com.example.jpa.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class InClauseExecutorTest {
+
+    static final int NAMES = 3_000; // chunk-size 1024 -> 3 chunk
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    SlowQueryRecorder recorder;
+
+    @Autowired
+    ApplicationContext context;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void before() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void after() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void padAndChunk() {
+        assertThat(InClauseExecutor.pad(List.of(1, 2, 3))).containsExactly(1, 2, 3, 3);
+        assertThat(InClauseExecutor.pad(List.of(1, 2, 3, 4))).containsExactly(1, 2, 3, 4);
+        assertThat(InClauseExecutor.pad(List.of(1))).containsExactly(1);
+        assertThat(InClauseExecutor.pad(List.of(1, 2, 3), 3)).containsExactly(1, 2, 3);
+        assertThat(InClauseExecutor.chunk(List.of(1, 2, 3, 4, 5), 2))
+                .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
+    @Test
+    @Transactional
+    public void chunksRunSequentiallyInTransaction() {
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("inName" + i, i));
+        }
+        em.flush();
+        statistics.clear();
+
+        List<Member> result = memberRepository.finByNames(names("inName"));
+
+        assertThat(result).hasSize(10).allMatch(em::contains); // 커밋 전 데이터도 보이고 영속 상태
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void chunksRunInParallelOutsideTransaction() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Member> saved = tx.execute(status -> {
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                members.add(memberRepository.save(new Member("parallelName" + i, i)));
+            }
+            return members;
+        });
+        try {
+            statistics.clear();
+
+            List<Member> result = memberRepository.finByNames(names("parallelName"));
+
+            assertThat(result).extracting(Member::getId)
+                    .containsExactlyInAnyOrderElementsOf(saved.stream().map(Member::getId).toList());
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        } finally {
+            tx.executeWithoutResult(status -> memberRepository.deleteAll(memberRepository.findAllById(
+                    saved.stream().map(Member::getId).toList())));
+        }
+    }
+
+    /**
+     * OSIV 처럼 트랜잭션 없이 EntityManager 만 묶여 있으면 그 EntityManager 에서 순서대로 조회
+     *   - 결과가 영속 상태라 지연 로딩 / 동일성이 유지됨
+     */
+    @Test
+    public void chunksRunSequentiallyOnBoundEntityManager() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> ids = tx.execute(status -> {
+            Team team = new Team("boundTeam");
+            em.persist(team);
+            List<Long> memberIds = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                memberIds.add(memberRepository.save(new Member("boundName" + i, team)).getId());
+            }
+            return memberIds;
+        });
+        EntityManager boundEm = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(boundEm));
+        try {
+            List<Member> result = memberRepository.finByNames(names("boundName"));
+
+            assertThat(result).hasSize(10).allMatch(boundEm::contains);
+            assertThat(result.get(0).getTeam().getName()).isEqualTo("boundTeam");
+            assertThat(memberRepository.finByNames(List.of("boundName0")).get(0))
+                    .isSameAs(boundEm.find(Member.class, ids.get(0)));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(emf);
+            boundEm.close();
+            tx.executeWithoutResult(status -> {
+                List<Member> members = memberRepository.findAllById(ids);
+                Team team = members.get(0).getTeam();
+                memberRepository.deleteAll(members);
+                em.remove(team);
+            });
+        }
+    }
+
+    /**
+     * chunk-size 가 2의 제곱수가 아니면 패딩은 chunk-size 에서 멈춤 (1500 개 -> 1000 + 500 을 512 로 패딩)
+     */
+    @Test
+    @Transactional
+    public void paddingIsCappedAtChunkSize() {
+        InClauseExecutor executor = new InClauseExecutor(emf, 1000, 1);
+        context.getAutowireCapableBeanFactory().autowireBean(executor);
+        Duration threshold = recorder.getThreshold();
+        recorder.clear();
+        recorder.setThreshold(Duration.ZERO); // 모든 SQL 기록
+        try {
+            List<Long> ids = LongStream.rangeClosed(-1500, -1).boxed().toList(); // 없는 id
+            assertThat(executor.findIn("select m from Member m where m.id in :values", Member.class, ids)).isEmpty();
+
+            assertThat(recorder.recent()).extracting(SlowQuery::getSql)
+                    .filteredOn(sql -> sql.contains("member_id in"))
+                    .extracting(sql -> sql.chars().filter(c -> c == '?').count())
+                    .containsExactlyInAnyOrder(1000L, 512L);
+        } finally {
+            recorder.setThreshold(threshold);
+            recorder.clear();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 존재하는 이름 10개 + 없는 이름으로 NAMES 개 채움
+     */
+    private static List<String> names(String prefix) {
+        return IntStream.range(0, NAMES)
+                .mapToObj(i -> i < 10 ? prefix + i : prefix + "Missing" + i)
+                .toList();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.example.jpa.repository.support;
+
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamBatchLoaderTest {
+
+    static final int MEMBERS = 1_000;
+    static final int TEAMS = 100;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    TeamBatchLoader teamBatchLoader;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void before() {
+        Team[] teams = new Team[TEAMS];
+        for (int i = 0; i < TEAMS; i++) {
+            teams[i] = new Team("batchTeam" + i);
+            em.persist(teams[i]);
+        }
+        for (int i = 0; i < MEMBERS; i++) {
+            em.persist(new Member("batchMember" + i, teams[i % TEAMS]));
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void after() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void lazyTeamIsNPlusOne() {
+        findMembers().forEach(m -> m.getTeam().getName());
+
+        // default_batch_fetch_size: 1 -> 회원 조회 1 + 팀 조회 100
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + TEAMS);
+    }
+
+    @Test
+    public void batchLoaderResolvesTeamsInOneQuery() {
+        List<Member> members = findMembers();
+        int queries = teamBatchLoader.loadPendingTeams();
+        members.forEach(m -> assertThat(m.getTeam().getName()).startsWith("batchTeam"));
+
+        assertThat(queries).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * @BatchLoadTeams 리포지토리 메서드는 조회 직후 팀을 한 번에 초기화
+     */
+    @Test
+    public void annotatedFindersResolveTeamsInOneQuery() {
+        List<Member> members = memberRepository.findMemberCustrom().stream()
+                .filter(m -> m.getUsername().startsWith("batchMember"))
+                .toList();
+        members.forEach(m -> assertThat(m.getTeam().getName()).startsWith("batchTeam"));
+
+        assertThat(members).hasSize(MEMBERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // 회원 조회 1 + 팀 IN 조회 1
+        em.clear();
+        statistics.clear();
+
+        List<Member> sameName = memberRepository.findByUsernameAndAgeGreaterThan("batchMember0", -1);
+        sameName.forEach(m -> m.getTeam().getName());
+
+        assertThat(sameName).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void batchSizeIsCappedAndSplit() {
+        TeamBatchLoader smallLoader = new TeamBatchLoader(emf, 32);
+        ReflectionTestUtils.setField(smallLoader, "em", em);
+
+        List<Member> members = findMembers();
+        int queries = smallLoader.loadPendingTeams();
+        members.forEach(m -> m.getTeam().getName());
+
+        assertThat(queries).isEqualTo(4); // 100 = 32 + 32 + 32 + 4(패딩 -> 4)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 4);
+    }
+
+    private List<Member> findMembers() {
+        return em.createQuery("select m from Member m where m.username like 'batchMember%'", Member.class)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.example.jpa.statistics;
+
+import com.example.jpa.dto.TeamStatisticsDto;
+import com.example.jpa.entity.Member;
+import com.example.jpa.entity.Team;
+import com.example.jpa.entity.TeamStatistics;
+import com.example.jpa.repository.MemberRepository;
+import com.example.jpa.repository.TeamStatisticsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 증감분은 커밋 직전에 반영되므로 트랜잭션을 직접 커밋하고 정리
+ */
+@SpringBootTest
+class TeamStatisticsTest {
+
+    static final int BASE_AGE = 500; // 다른 테스트 데이터와 겹치지 않는 나이
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TeamStatisticsService teamStatisticsService;
+
+    @Autowired
+    TeamStatisticsRepository teamStatisticsRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    TransactionTemplate tx;
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("statTeamA");
+            Team teamB = new Team("statTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            persistMember("statMember1", BASE_AGE + 10, teamA);
+            persistMember("statMember2", BASE_AGE + 20, teamA);
+            persistMember("statMember3", BASE_AGE + 30, teamA);
+            persistMember("statMember4", BASE_AGE + 40, teamB);
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'statMember%'").executeUpdate();
+            em.createQuery("delete from TeamStatistics s where s.teamId in :ids")
+                    .setParameter("ids", List.of(teamAId, teamBId)).executeUpdate();
+            em.createQuery("delete from Team t where t.id in :ids")
+                    .setParameter("ids", List.of(teamAId, teamBId)).executeUpdate();
+        });
+    }
+
+    @Test
+    public void insertsAreAggregated() {
+        TeamStatisticsDto teamA = find(teamAId);
+
+        assertThat(teamA.getMemberCount()).isEqualTo(3);
+        assertThat(teamA.getAverageAge()).isEqualTo(BASE_AGE + 20.0);
+        assertThat(teamA.getMinAge()).isEqualTo(BASE_AGE + 10);
+        assertThat(teamA.getMaxAge()).isEqualTo(BASE_AGE + 30);
+        assertThatMatchesMembers();
+    }
+
+    @Test
+    public void ageChangeMoveAndDeleteAreApplied() {
+        tx.executeWithoutResult(status -> {
+            member("statMember1").setAge(BASE_AGE + 15);
+            member("statMember3").changeTeam(em.find(Team.class, teamBId));
+        });
+        // teamA 의 최대 나이 회원이 빠짐 -> stale
+        assertThat(teamStatisticsRepository.findById(teamAId).orElseThrow().isStale()).isTrue();
+
+        tx.executeWithoutResult(status -> em.remove(member("statMember4")));
+
+        TeamStatisticsDto teamA = find(teamAId);
+        TeamStatisticsDto teamB = find(teamBId);
+        assertThat(teamA.getMemberCount()).isEqualTo(2);
+        assertThat(teamA.getMinAge()).isEqualTo(BASE_AGE + 15);
+        assertThat(teamA.getMaxAge()).isEqualTo(BASE_AGE + 20);
+        assertThat(teamB.getMemberCount()).isEqualTo(1);
+        assertThat(teamB.getMinAge()).isEqualTo(BASE_AGE + 30);
+        assertThatMatchesMembers();
+    }
+
+    @Test
+    public void bulkAgePlusIsApplied() {
+        memberRepository.bulkAgePlus(BASE_AGE + 20);
+
+        TeamStatisticsDto teamA = find(teamAId);
+        assertThat(teamA.getAverageAge()).isEqualTo(BASE_AGE + 20 + 2.0 / 3);
+        assertThat(teamA.getMinAge()).isEqualTo(BASE_AGE + 10);
+        assertThat(teamA.getMaxAge()).isEqualTo(BASE_AGE + 31);
+        assertThatMatchesMembers();
+    }
+
+    @Test
+    public void reconcileCorrectsDrift() {
+        jdbcTemplate.update("update team_statistics set member_count = 99, age_sum = 0 where team_id = ?", teamAId);
+
+        assertThat(teamStatisticsService.reconcile()).isGreaterThanOrEqualTo(1);
+        assertThat(teamStatisticsService.reconcile()).isZero();
+        assertThatMatchesMembers();
+    }
+
+    /**
+     * 집계 행이 없는 팀에 다른 트랜잭션이 먼저 insert 해도 이쪽 증감분이 빠지지 않음
+     *   - 다른 커넥션이 insert 후 커밋을 미루는 동안 회원 추가 트랜잭션을 커밋 -> 중복 키 후 update 로 반영
+     */
+    @Test
+    public void concurrentFirstInsertKeepsDelta() throws Exception {
+        jdbcTemplate.update("delete from team_statistics where team_id = ?", teamAId);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try (PreparedStatement insert = connection.prepareStatement("""
+                        insert into team_statistics (team_id, member_count, age_sum, min_age, max_age, stale, version)
+                        select ?, count(*), coalesce(sum(age), 0), min(age), max(age), false, 0
+                        from member where team_id = ?""")) {
+                    insert.setLong(1, teamAId);
+                    insert.setLong(2, teamAId);
+                    insert.executeUpdate();
+                }
+                inserted.countDown();
+                Thread.sleep(500);
+                connection.commit();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        tx.executeWithoutResult(status -> persistMember("statMember5", BASE_AGE + 50, em.find(Team.class, teamAId)));
+        other.get(5, TimeUnit.SECONDS);
+
+        assertThat(find(teamAId).getMemberCount()).isEqualTo(4);
+        assertThatMatchesMembers();
+    }
+
+    private void persistMember(String username, int age, Team team) {
+        Member member = new Member(username, age);
+        member.changeTeam(team);
+        em.persist(member);
+    }
+
+    private TeamStatisticsDto find(Long teamId) {
+        return teamStatisticsService.findAll().stream()
+                .filter(s -> s.getTeamId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Member member(String username) {
+        return em.createQuery("select m from Member m where m.username = :username", Member.class)
+                .setParameter("username", username)
+                .getSingleResult();
+    }
+
+    /**
+     * materialized 값과 member group by 결과 비교
+     */
+    private void assertThatMatchesMembers() {
+        for (Long teamId : List.of(teamAId, teamBId)) {
+            TeamStatisticsDto statistics = find(teamId);
+            Object[] actual = tx.execute(status -> em.createQuery(
+                            "select count(m), avg(m.age), min(m.age), max(m.age) from Member m where m.team.id = :id", Object[].class)
+                    .setParameter("id", teamId)
+                    .getSingleResult());
+            assertThat(statistics.getMemberCount()).isEqualTo(actual[0]);
+            assertThat(statistics.getAverageAge()).isEqualTo(actual[1]);
+            assertThat(statistics.getMinAge()).isEqualTo(actual[2]);
+            assertThat(statistics.getMaxAge()).isEqualTo(actual[3]);
+        }
+    }
+
+}